@@ -0,0 +1,68 @@
+package no.finntech.workshop;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Counter increments on a few hot keys: ConcurrentHashMap#compute against the lock-free compute
+ * and the batched update of HotKeyUpdater.
+ * The contention comes from the number of threads, set with -t:
+ * for t in 1 2 4 8 16 32 64; do java -jar target/benchmarks.jar HotKeyCompute -t $t; done
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotKeyComputeBenchmark {
+
+    @Param({"1", "16"})
+    public int hotKeys;
+
+    private ConcurrentHashMap<Integer, Long> map;
+
+    private HotKeyUpdater<Integer, Long> updater;
+
+    @Setup
+    public void setUp() {
+        map = new ConcurrentHashMap<>();
+        for (int key = 0; key < hotKeys; key++) {
+            map.put(key, 0L);
+        }
+        updater = new HotKeyUpdater<>(map);
+    }
+
+    @Benchmark
+    public Long concurrentHashMapCompute() {
+        return map.compute(nextKey(), (k, v) -> v + 1);
+    }
+
+    @Benchmark
+    public Long casCompute() {
+        return updater.compute(nextKey(), (k, v) -> v + 1);
+    }
+
+    @Benchmark
+    public void batchedUpdate() {
+        updater.update(nextKey(), v -> v + 1);
+    }
+
+    private int nextKey() {
+        return hotKeys == 1 ? 0 : ThreadLocalRandom.current().nextInt(hotKeys);
+    }
+
+}
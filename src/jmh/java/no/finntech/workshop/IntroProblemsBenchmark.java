@@ -0,0 +1,98 @@
+package no.finntech.workshop;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.stream.Collectors.toList;
+
+/*
+ * The *Stream benchmarks are reference stream solutions of the exercises, which are stubs here,
+ * to compare the fused and bulk variants with. Add -prof gc to see the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntroProblemsBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private final IntroProblems introProblems = new IntroProblems();
+
+    private List<Integer> ints;
+
+    private List<String> strings;
+
+    @Setup
+    public void setUp() {
+        ints = IntStream.range(0, size).boxed().collect(toList());
+        strings = IntStream.range(0, size).mapToObj(i -> "string number " + i).collect(toList());
+    }
+
+    @Benchmark
+    public List<Integer> doubleAllTheIntsStream() {
+        return ints.stream().map(i -> i * 2).collect(toList());
+    }
+
+    @Benchmark
+    public List<Integer> doubleAllTheIntsFused() {
+        return introProblems.doubleAllTheIntsFused(ints);
+    }
+
+    @Benchmark
+    public List<String> removeLongStringsStream() {
+        return strings.stream().filter(s -> s.length() <= 5).collect(toList());
+    }
+
+    @Benchmark
+    public List<String> removeLongStringsFused() {
+        return introProblems.removeLongStringsFused(strings);
+    }
+
+    @Benchmark
+    public List<Integer> keepAllWhereNotStream() {
+        return ints.stream().filter(i -> (i & 1) != 0).collect(toList());
+    }
+
+    @Benchmark
+    public List<Integer> keepAllWhereNotFused() {
+        return introProblems.keepAllWhereNotFused(ints, i -> (i & 1) == 0);
+    }
+
+    @Benchmark
+    public int convertAndDoubleValueStream() {
+        return ints.stream().mapToInt(i -> i * 2).sum();
+    }
+
+    @Benchmark
+    public int convertAndDoubleValueFused() {
+        return introProblems.convertAndDoubleValueFused(ints).sum();
+    }
+
+    @Benchmark
+    public List<String> upperCasifyAllStringsStream() {
+        return strings.stream().map(String::toUpperCase).collect(toList());
+    }
+
+    @Benchmark
+    public List<String> upperCasifyAllStringsInBulk() {
+        return introProblems.upperCasifyAllStringsInBulk(strings);
+    }
+
+}
@@ -0,0 +1,83 @@
+package no.finntech.workshop;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.stream.Collectors.toMap;
+
+/*
+ * Keeps one big square map alive (boxed on the heap, primitive on the heap, or off-heap), and measures
+ * how long it takes to build another one next to it, which is where the old generation starts to hurt.
+ * The forked JVM logs its collections; compare the pauses and the old generation after each run:
+ * java -jar target/benchmarks.jar LargeMap -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g", "-verbose:gc"})
+public class LargeMapBenchmark {
+
+    @Param({"10000000"})
+    public int size;
+
+    @Param({"boxed", "primitive", "offHeap"})
+    public String storage;
+
+    private final NeophyteProblems neophyteProblems = new NeophyteProblems();
+
+    private Object resident;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        resident = build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (resident instanceof OffHeapIntIntMap) {
+            ((OffHeapIntIntMap) resident).close();
+        }
+        resident = null;
+    }
+
+    @Benchmark
+    public Object buildNextToResident() {
+        Object built = build();
+        if (built instanceof OffHeapIntIntMap) {
+            ((OffHeapIntIntMap) built).close();
+        }
+        return built;
+    }
+
+    private Object build() {
+        switch (storage) {
+            case "boxed":
+                Map<Integer, Integer> map = IntStream.rangeClosed(1, size).boxed().collect(toMap(i -> i, i -> i * i, (a, b) -> b, HashMap::new));
+                return map;
+            case "primitive":
+                // scatter the keys, or the dense layout makes this a plain int[]
+                return IntIntMap.collect(IntStream.rangeClosed(1, size).map(i -> i * 31), i -> i * i);
+            default:
+                return neophyteProblems.createOffHeapMapFromIntegerToItsSquare(IntStream.rangeClosed(1, size).map(i -> i * 31));
+        }
+    }
+
+}
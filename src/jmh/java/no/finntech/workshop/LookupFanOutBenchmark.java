@@ -0,0 +1,92 @@
+package no.finntech.workshop;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.stream.Collectors.toList;
+
+/*
+ * 100k lookups against services that sleep to simulate remote latency,
+ * on a fixed pool of platform threads versus one virtual thread per lookup.
+ * The virtual mode needs the benchmarks to run on JDK 21 or later; how the jar was built doesn't matter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LookupFanOutBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"200"})
+    public int platformThreads;
+
+    @Param({"100000"})
+    public int lookups;
+
+    @Param({"1"})
+    public int latencyMillis;
+
+    private ExecutorService executor;
+
+    private OptionalProblems optionalProblems;
+
+    private List<Long> customerIds;
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(mode)
+                ? LookupExecutors.virtualThreadPerTask()
+                : LookupExecutors.platformThreads(platformThreads);
+        OptionalProblems.Database database = id -> {
+            sleep();
+            return () -> "NO" + id;
+        };
+        OptionalProblems.AccountService accountService = number -> {
+            sleep();
+            return () -> 250000.0;
+        };
+        optionalProblems = new OptionalProblems(null, database, accountService);
+        customerIds = LongStream.range(0, lookups).boxed().collect(toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Two sleeping lookups per customer
+     */
+    @Benchmark
+    public List<Double> getBalanceAsDouble() throws InterruptedException {
+        return LookupExecutors.fanOut(customerIds, optionalProblems::getBalanceAsDouble, executor);
+    }
+
+}
@@ -0,0 +1,65 @@
+package no.finntech.workshop;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.stream.Collectors.toList;
+
+/*
+ * concatenateAll is an exercise (a stub here), so it is stood in for by Collectors.joining()
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeophyteProblemsBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private final NeophyteProblems neophyteProblems = new NeophyteProblems();
+
+    private List<String> strings;
+
+    @Setup
+    public void setUp() {
+        strings = IntStream.range(0, size).mapToObj(i -> "string number " + i).collect(toList());
+    }
+
+    @Benchmark
+    public String joining() {
+        return strings.stream().collect(Collectors.joining());
+    }
+
+    @Benchmark
+    public String joiningInParallel() {
+        return strings.parallelStream().collect(Collectors.joining());
+    }
+
+    @Benchmark
+    public String concatenateAllAtOnce() {
+        return neophyteProblems.concatenateAllAtOnce(strings.stream());
+    }
+
+    @Benchmark
+    public String concatenateAllAtOnceInParallel() {
+        return neophyteProblems.concatenateAllAtOnce(strings.parallelStream());
+    }
+
+}
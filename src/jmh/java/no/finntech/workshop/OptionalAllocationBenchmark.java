@@ -0,0 +1,137 @@
+package no.finntech.workshop;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.stream.Collectors.toList;
+
+/*
+ * Boxed Optional paths against their primitive flavours.
+ * Where the boxed path is an exercise (a stub here), a reference solution of it stands in.
+ * Run with the gc profiler to see the garbage per call: java -jar target/benchmarks.jar OptionalAllocation -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionalAllocationBenchmark {
+
+    private static final Double BALANCE = 250000.0;
+
+    private final OptionalProblems.SomeService someService = new OptionalProblems.SomeService() {
+        @Override
+        public String getDefaultValue() {
+            return "0";
+        }
+
+        @Override
+        public Optional<Integer> tryMakeAnInteger(final String value) {
+            return Optional.of(Integer.parseInt(value));
+        }
+
+        @Override
+        public OptionalInt tryMakeAnInt(final String value) {
+            return OptionalInt.of(Integer.parseInt(value));
+        }
+
+        @Override
+        public void printOut(final String value) {
+        }
+    };
+
+    private final OptionalProblems.Customer customer = () -> "NO255415684";
+
+    private final OptionalProblems.Account account = () -> BALANCE;
+
+    private final OptionalProblems.Database database = id -> customer;
+
+    private final OptionalProblems.AccountService accountService = number -> account;
+
+    private final OptionalProblems optionalProblems = new OptionalProblems(someService, database, accountService);
+
+    private int value = 4242;
+
+    private Optional<String> text = Optional.of("4242");
+
+    private List<Optional<Integer>> optionals;
+
+    private List<OptionalInt> optionalInts;
+
+    @Setup
+    public void setUp() {
+        optionals = IntStream.range(0, 100).mapToObj(i -> i % 3 == 0 ? Optional.<Integer>empty() : Optional.of(i)).collect(toList());
+        optionalInts = IntStream.range(0, 100).mapToObj(i -> i % 3 == 0 ? OptionalInt.empty() : OptionalInt.of(i)).collect(toList());
+    }
+
+    @Benchmark
+    public Optional<Integer> createOptionalOfNullable() {
+        return Optional.ofNullable(value);
+    }
+
+    @Benchmark
+    public int createOptionalIntOfNonNullable() {
+        return optionalProblems.createOptionalIntOfNonNullable(value).orElse(0);
+    }
+
+    @Benchmark
+    public Optional<Integer> tryMakeAnInteger() {
+        return someService.tryMakeAnInteger("4242");
+    }
+
+    @Benchmark
+    public int tryMakeAnInt() {
+        return someService.tryMakeAnInt("4242").orElse(0);
+    }
+
+    @Benchmark
+    public Optional<Integer> tryMakeAnIntegerOutOfAnOptionalString() {
+        return text.flatMap(someService::tryMakeAnInteger);
+    }
+
+    @Benchmark
+    public int tryMakeAnIntOutOfAnOptionalString() {
+        return optionalProblems.tryMakeAnIntOutOfAnOptionalString(text).orElse(0);
+    }
+
+    @Benchmark
+    public List<Integer> retainAllIntegers() {
+        return optionals.stream().filter(Optional::isPresent).map(Optional::get).collect(toList());
+    }
+
+    @Benchmark
+    public int[] retainAllInts() {
+        return optionalProblems.retainAllInts(optionalInts);
+    }
+
+    @Benchmark
+    public Double getBalance() {
+        return Optional.of(42L)
+                       .map(database::getCustomer)
+                       .map(OptionalProblems.Customer::getAccountNumber)
+                       .map(accountService::getAccount)
+                       .map(OptionalProblems.Account::getBalance)
+                       .orElse(0.0);
+    }
+
+    @Benchmark
+    public double getBalanceAsDouble() {
+        return optionalProblems.getBalanceAsDouble(42);
+    }
+
+}
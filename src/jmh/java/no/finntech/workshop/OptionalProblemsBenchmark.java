@@ -0,0 +1,102 @@
+package no.finntech.workshop;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.stream.Collectors.toList;
+
+/*
+ * The implemented siblings of the Optional exercises; the exercises themselves are stubs here
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionalProblemsBenchmark {
+
+    private final OptionalProblems.SomeService someService = new OptionalProblems.SomeService() {
+        @Override
+        public String getDefaultValue() {
+            return "default";
+        }
+
+        @Override
+        public Optional<Integer> tryMakeAnInteger(final String value) {
+            try {
+                return Optional.of(Integer.valueOf(value));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public OptionalInt tryMakeAnInt(final String value) {
+            try {
+                return OptionalInt.of(Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                return OptionalInt.empty();
+            }
+        }
+
+        @Override
+        public void printOut(final String value) {
+        }
+    };
+
+    private final OptionalProblems.Database database = id -> id == 42 ? () -> "NO255415684" : null;
+
+    private final OptionalProblems.AccountService accountService = number -> () -> 250000.0;
+
+    private final OptionalProblems optionalProblems = new OptionalProblems(someService, database, accountService);
+
+    private final List<Optional<Integer>> optionals = Arrays.asList(Optional.of(1), Optional.empty(), Optional.of(10));
+
+    private final List<Integer> customerIds = IntStream.range(0, 100).boxed().collect(toList());
+
+    private final List<OptionalProblems.Customer> customers = IntStream.range(0, 1000000)
+                                                                       .mapToObj(i -> (OptionalProblems.Customer) () -> (i == 900000 ? "NO" : "FR") + i)
+                                                                       .collect(toList());
+
+    @Benchmark
+    public int streamAllIntegers() {
+        return optionalProblems.streamAllIntegers(optionals).sum();
+    }
+
+    @Benchmark
+    public double getBalanceOfExistingCustomer() {
+        return optionalProblems.getBalanceAsDouble(42);
+    }
+
+    @Benchmark
+    public double getBalanceOfMissingCustomer() {
+        return optionalProblems.getBalanceAsDouble(7);
+    }
+
+    @Benchmark
+    public Map<Integer, Double> getBalances() {
+        return optionalProblems.getBalances(customerIds);
+    }
+
+    @Benchmark
+    public String getFirstCustomerAccountNumberStartingWithNOInParallel() {
+        return optionalProblems.getFirstCustomerAccountNumberStartingWithNOInParallel(customers);
+    }
+
+}
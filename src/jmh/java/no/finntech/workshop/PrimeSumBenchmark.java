@@ -0,0 +1,67 @@
+package no.finntech.workshop;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * The sumPrimesOfVeryLargeList* methods delegate to the sumAllPrimeNumbers(Stream<Integer>) exercise, so the boxed
+ * benchmarks run a reference solution of it instead: what those methods do once the exercise is solved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimeSumBenchmark {
+
+    @Param({"100000"})
+    public int from;
+
+    @Param({"150000"})
+    public int to;
+
+    private final NeophyteProblems neophyteProblems = new NeophyteProblems();
+
+    @Benchmark
+    public Integer boxedSequential() {
+        return sumPrimes(IntStream.range(from, to).boxed());
+    }
+
+    @Benchmark
+    public Integer boxedParallel() {
+        return sumPrimes(IntStream.range(from, to).boxed().parallel());
+    }
+
+    private Integer sumPrimes(Stream<Integer> ints) {
+        return ints.filter(neophyteProblems::isPrime).reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public long sequential() {
+        return neophyteProblems.sumAllPrimeNumbers(IntStream.range(from, to));
+    }
+
+    @Benchmark
+    public long parallel() {
+        return neophyteProblems.sumAllPrimeNumbers(IntStream.range(from, to).parallel());
+    }
+
+    @Benchmark
+    public long forkJoinRange() {
+        return neophyteProblems.sumPrimesInRangeInParallell(from, to);
+    }
+
+}
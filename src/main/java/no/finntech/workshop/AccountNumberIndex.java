@@ -0,0 +1,347 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/*
+ * Prefix index over the account numbers of customers, for questions like "the first customer whose
+ * account number starts with NO", without a scan through all of them.
+ *
+ * Most of the customers sit in sorted arrays, where the customers with a given prefix are one
+ * contiguous range found by binary search. New customers go into a small sorted map first, and
+ * are merged into the arrays when that has grown to an eighth of them, so adding stays cheap.
+ * Removed customers are left as holes in the arrays until the next merge, which comes early
+ * once an eighth of the arrays are holes.
+ *
+ * Over the arrays sits a segment tree holding, for every node, the earliest added customer below it
+ * and how many customers below it are left, so the first match and the count of a range both cost
+ * O(log n), and so does punching a hole. That is four ints per customer.
+ *
+ * Not thread safe.
+ */
+final class AccountNumberIndex {
+
+    private static final int MIN_PENDING_BEFORE_MERGE = 4096;
+
+    private static final class Entry {
+        final String accountNumber;
+        final OptionalProblems.Customer customer;
+        final int ordinal;
+
+        Entry(String accountNumber, OptionalProblems.Customer customer, int ordinal) {
+            this.accountNumber = accountNumber;
+            this.customer = customer;
+            this.ordinal = ordinal;
+        }
+    }
+
+    private String[] accountNumbers = new String[0];
+    private OptionalProblems.Customer[] customers = new OptionalProblems.Customer[0];
+    private int[] ordinals = new int[0];
+    // the leaves are at accountNumbers.length + i, the root at 1
+    private int[] earliestTree = new int[0];
+    private int[] liveTree = new int[0];
+    private int removed;
+
+    private final NavigableMap<String, List<Entry>> pending = new TreeMap<>();
+    private int pendingSize;
+    private int nextOrdinal;
+
+    /*
+     * Customers without an account number are not indexed
+     */
+    void add(final OptionalProblems.Customer customer) {
+        add(customer, nextOrdinal++);
+    }
+
+    /*
+     * Removes the customer, found by its current account number
+     *
+     * @return whether the customer was in the index
+     */
+    boolean remove(final OptionalProblems.Customer customer) {
+        return remove(customer, customer.getAccountNumber()) >= 0;
+    }
+
+    /*
+     * Moves the customer from the account number it had to the one it has now.
+     * It keeps its place in the order customers were added in, unless it wasn't indexed before.
+     */
+    void update(final OptionalProblems.Customer customer, final String previousAccountNumber) {
+        final int ordinal = remove(customer, previousAccountNumber);
+        add(customer, ordinal >= 0 ? ordinal : nextOrdinal++);
+    }
+
+    private void add(final OptionalProblems.Customer customer, final int ordinal) {
+        final String accountNumber = customer.getAccountNumber();
+        if (accountNumber == null) {
+            return;
+        }
+        pending.computeIfAbsent(accountNumber, k -> new ArrayList<>(1))
+               .add(new Entry(accountNumber, customer, ordinal));
+        pendingSize++;
+        if (pendingSize >= Math.max(MIN_PENDING_BEFORE_MERGE, accountNumbers.length >>> 3)) {
+            merge();
+        }
+    }
+
+    /*
+     * @return the ordinal of the removed customer, or -1 if it wasn't indexed under that account number
+     */
+    private int remove(final OptionalProblems.Customer customer, final String accountNumber) {
+        if (accountNumber == null) {
+            return -1;
+        }
+        final List<Entry> entries = pending.get(accountNumber);
+        if (entries != null) {
+            for (int i = 0; i < entries.size(); i++) {
+                final Entry entry = entries.get(i);
+                if (entry.customer == customer) {
+                    entries.remove(i);
+                    if (entries.isEmpty()) {
+                        pending.remove(accountNumber);
+                    }
+                    pendingSize--;
+                    return entry.ordinal;
+                }
+            }
+        }
+        for (int i = lowerBound(accountNumber); i < accountNumbers.length && accountNumbers[i].equals(accountNumber); i++) {
+            if (customers[i] == customer) {
+                customers[i] = null;
+                removed++;
+                updateTree(i);
+                final int ordinal = ordinals[i];
+                if (removed > accountNumbers.length >>> 3) {
+                    merge();
+                }
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    void addAll(final Collection<? extends OptionalProblems.Customer> customers) {
+        customers.forEach(this::add);
+    }
+
+    int size() {
+        return accountNumbers.length - removed + pendingSize;
+    }
+
+    /*
+     * @return the earliest added customer whose account number starts with the prefix
+     */
+    Optional<OptionalProblems.Customer> firstMatch(final String prefix) {
+        Entry first = null;
+        for (List<Entry> entries : pendingRange(prefix).values()) {
+            // an updated customer keeps its ordinal, so the entries aren't always in order
+            for (Entry entry : entries) {
+                if (first == null || entry.ordinal < first.ordinal) {
+                    first = entry;
+                }
+            }
+        }
+        final int from = lowerBound(prefix);
+        final int to = upperBound(prefix, from);
+        final int index = earliest(from, to);
+        if (index >= 0 && (first == null || ordinals[index] < first.ordinal)) {
+            return Optional.of(customers[index]);
+        }
+        return first == null ? Optional.empty() : Optional.of(first.customer);
+    }
+
+    int count(final String prefix) {
+        final int from = lowerBound(prefix);
+        int count = live(from, upperBound(prefix, from));
+        for (List<Entry> entries : pendingRange(prefix).values()) {
+            count += entries.size();
+        }
+        return count;
+    }
+
+    /*
+     * @return the customers whose account number starts with the prefix, sorted by account number
+     */
+    List<OptionalProblems.Customer> allMatches(final String prefix) {
+        final int from = lowerBound(prefix);
+        final int to = upperBound(prefix, from);
+        final List<OptionalProblems.Customer> matches = new ArrayList<>(to - from);
+        int i = from;
+        for (Map.Entry<String, List<Entry>> pendingEntries : pendingRange(prefix).entrySet()) {
+            for (; i < to && accountNumbers[i].compareTo(pendingEntries.getKey()) <= 0; i++) {
+                if (customers[i] != null) {
+                    matches.add(customers[i]);
+                }
+            }
+            for (Entry entry : pendingEntries.getValue()) {
+                matches.add(entry.customer);
+            }
+        }
+        for (; i < to; i++) {
+            if (customers[i] != null) {
+                matches.add(customers[i]);
+            }
+        }
+        return matches;
+    }
+
+    private NavigableMap<String, List<Entry>> pendingRange(final String prefix) {
+        final NavigableMap<String, List<Entry>> tail = pending.tailMap(prefix, true);
+        final String end = tail.isEmpty() ? null : firstKeyNotStartingWith(tail, prefix);
+        return end == null ? tail : tail.headMap(end, false);
+    }
+
+    private static String firstKeyNotStartingWith(final NavigableMap<String, List<Entry>> tail, final String prefix) {
+        for (String key : tail.keySet()) {
+            if (!key.startsWith(prefix)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * First index whose account number is not less than the prefix
+     */
+    private int lowerBound(final String prefix) {
+        int low = 0;
+        int high = accountNumbers.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (accountNumbers[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * First index from lowerBound on whose account number does not start with the prefix
+     */
+    private int upperBound(final String prefix, final int from) {
+        int low = from;
+        int high = accountNumbers.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (accountNumbers[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * @return the index in [from, to) of the earliest added customer left, or -1 if there is none
+     */
+    private int earliest(final int from, final int to) {
+        final int n = accountNumbers.length;
+        int best = -1;
+        for (int low = from + n, high = to + n; low < high; low >>>= 1, high >>>= 1) {
+            if ((low & 1) == 1) {
+                best = earlier(best, earliestTree[low++]);
+            }
+            if ((high & 1) == 1) {
+                best = earlier(best, earliestTree[--high]);
+            }
+        }
+        return best;
+    }
+
+    /*
+     * @return how many customers are left in [from, to)
+     */
+    private int live(final int from, final int to) {
+        final int n = accountNumbers.length;
+        int count = 0;
+        for (int low = from + n, high = to + n; low < high; low >>>= 1, high >>>= 1) {
+            if ((low & 1) == 1) {
+                count += liveTree[low++];
+            }
+            if ((high & 1) == 1) {
+                count += liveTree[--high];
+            }
+        }
+        return count;
+    }
+
+    private int earlier(final int index, final int other) {
+        if (index < 0) {
+            return other;
+        }
+        return other < 0 || ordinals[index] < ordinals[other] ? index : other;
+    }
+
+    private void updateTree(final int index) {
+        final int n = accountNumbers.length;
+        int node = index + n;
+        earliestTree[node] = customers[index] == null ? -1 : index;
+        liveTree[node] = customers[index] == null ? 0 : 1;
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            earliestTree[node] = earlier(earliestTree[2 * node], earliestTree[2 * node + 1]);
+            liveTree[node] = liveTree[2 * node] + liveTree[2 * node + 1];
+        }
+    }
+
+    private void buildTree() {
+        final int n = accountNumbers.length;
+        earliestTree = new int[2 * n];
+        liveTree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            earliestTree[n + i] = i;
+            liveTree[n + i] = 1;
+        }
+        for (int node = n - 1; node > 0; node--) {
+            earliestTree[node] = earlier(earliestTree[2 * node], earliestTree[2 * node + 1]);
+            liveTree[node] = liveTree[2 * node] + liveTree[2 * node + 1];
+        }
+    }
+
+    private void merge() {
+        final int size = size();
+        final String[] mergedNumbers = new String[size];
+        final OptionalProblems.Customer[] mergedCustomers = new OptionalProblems.Customer[size];
+        final int[] mergedOrdinals = new int[size];
+        int i = 0;
+        int out = 0;
+        for (List<Entry> entries : pending.values()) {
+            final String key = entries.get(0).accountNumber;
+            for (; i < accountNumbers.length && accountNumbers[i].compareTo(key) <= 0; i++) {
+                if (customers[i] != null) {
+                    mergedNumbers[out] = accountNumbers[i];
+                    mergedCustomers[out] = customers[i];
+                    mergedOrdinals[out++] = ordinals[i];
+                }
+            }
+            for (Entry entry : entries) {
+                mergedNumbers[out] = entry.accountNumber;
+                mergedCustomers[out] = entry.customer;
+                mergedOrdinals[out++] = entry.ordinal;
+            }
+        }
+        for (; i < accountNumbers.length; i++) {
+            if (customers[i] != null) {
+                mergedNumbers[out] = accountNumbers[i];
+                mergedCustomers[out] = customers[i];
+                mergedOrdinals[out++] = ordinals[i];
+            }
+        }
+        accountNumbers = mergedNumbers;
+        customers = mergedCustomers;
+        ordinals = mergedOrdinals;
+        buildTree();
+        pending.clear();
+        pendingSize = 0;
+        removed = 0;
+    }
+
+}
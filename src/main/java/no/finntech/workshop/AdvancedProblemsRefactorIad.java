@@ -1,3 +1,5 @@
+package no.finntech.workshop;
+
 public class AdvancedProblemsRefactorIad {
 
     /*
@@ -0,0 +1,113 @@
+package no.finntech.workshop;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * The non-blocking counterpart of OptionalProblems#getBalance: customer, then account, then balance,
+ * where anything missing along the way ends up as an empty Optional inside the future.
+ */
+final class AsyncBalanceLookup {
+
+    interface AsyncDatabase {
+
+        /**
+         * Get a customer by its id
+         * @param id
+         * @return a future of an empty Optional when the customer cannot be found
+         */
+        CompletableFuture<Optional<OptionalProblems.Customer>> getCustomer(long id);
+
+        /*
+         * Runs the blocking lookups of the given database on the given executor
+         */
+        static AsyncDatabase blocking(final OptionalProblems.Database database, final Executor executor) {
+            return id -> CompletableFuture.supplyAsync(() -> Optional.ofNullable(database.getCustomer(id)), executor);
+        }
+    }
+
+    interface AsyncAccountService {
+
+        /**
+         * Get an account by its number
+         * @param accountNumber
+         * @return a future of an empty Optional when the account cannot be found
+         */
+        CompletableFuture<Optional<OptionalProblems.Account>> getAccount(String accountNumber);
+
+        /*
+         * Runs the blocking lookups of the given account service on the given executor
+         */
+        static AsyncAccountService blocking(final OptionalProblems.AccountService accountService, final Executor executor) {
+            return number -> CompletableFuture.supplyAsync(() -> Optional.ofNullable(accountService.getAccount(number)), executor);
+        }
+    }
+
+    private final AsyncDatabase database;
+
+    private final AsyncAccountService accountService;
+
+    private final ScheduledExecutorService timer;
+
+    private final long stageTimeoutNanos;
+
+    private final AsyncLimiter limiter;
+
+    /*
+     * @param timer fails stages that take longer than stageTimeout, with a TimeoutException
+     * @param maxInFlight how many lookups may be running at the same time, the rest are queued.
+     *                    A lookup that timed out stops counting, even if the call to the backend behind it is still running.
+     */
+    AsyncBalanceLookup(final AsyncDatabase database, final AsyncAccountService accountService,
+                       final ScheduledExecutorService timer, final long stageTimeout, final TimeUnit unit,
+                       final int maxInFlight) {
+        this.database = database;
+        this.accountService = accountService;
+        this.timer = timer;
+        this.stageTimeoutNanos = unit.toNanos(stageTimeout);
+        this.limiter = new AsyncLimiter(maxInFlight);
+    }
+
+    /*
+     * @param customerId may be null
+     * @return the balance of the account, or empty if there is no customer, account or balance
+     */
+    public CompletableFuture<Optional<Double>> getBalance(final Integer customerId) {
+        if (customerId == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return limiter.submit(() -> withTimeout(database.getCustomer(customerId), "customer lookup")
+                .thenCompose(customer -> {
+                    final Optional<String> accountNumber = customer.map(OptionalProblems.Customer::getAccountNumber);
+                    if (!accountNumber.isPresent()) {
+                        return CompletableFuture.completedFuture(Optional.<OptionalProblems.Account>empty());
+                    }
+                    return withTimeout(accountService.getAccount(accountNumber.get()), "account lookup");
+                })
+                .thenApply(account -> account.map(OptionalProblems.Account::getBalance)));
+    }
+
+    private <T> CompletableFuture<T> withTimeout(final CompletableFuture<T> stage, final String name) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final ScheduledFuture<?> timeout = timer.schedule(() -> {
+            result.completeExceptionally(new TimeoutException(name + " timed out after " + stageTimeoutNanos + " ns"));
+            // stops what is chained on the stage; a blocking call running behind it can't be stopped from here
+            stage.cancel(true);
+        }, stageTimeoutNanos, TimeUnit.NANOSECONDS);
+        stage.whenComplete((value, failure) -> {
+            timeout.cancel(false);
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+
+}
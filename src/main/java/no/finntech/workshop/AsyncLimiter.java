@@ -0,0 +1,79 @@
+package no.finntech.workshop;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * Lets at most maxInFlight asynchronous tasks run at the same time, without blocking anyone:
+ * the rest wait in a queue and are started as earlier tasks complete.
+ *
+ * Only one thread at a time starts queued tasks, in a loop, so tasks that complete right away
+ * (from a cache, say) don't start the next one from their completion callback, one stack frame deeper each time.
+ */
+final class AsyncLimiter {
+
+    private final Semaphore permits;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    AsyncLimiter(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive, was " + maxInFlight);
+        }
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        pending.add(() -> {
+            CompletableFuture<T> started;
+            try {
+                started = task.get();
+            } catch (Throwable e) {
+                started = new CompletableFuture<>();
+                started.completeExceptionally(e);
+            }
+            started.whenComplete((value, failure) -> {
+                permits.release();
+                drain();
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        drain();
+        return result;
+    }
+
+    int queued() {
+        return pending.size();
+    }
+
+    /*
+     * Whoever finds nobody draining drains, and loops again for every drain() called in the meantime
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (permits.tryAcquire()) {
+                Runnable next = pending.poll();
+                if (next == null) {
+                    permits.release();
+                    break;
+                }
+                next.run();
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+}
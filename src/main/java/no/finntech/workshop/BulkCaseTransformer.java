@@ -0,0 +1,88 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * Upper-cases lots of mostly ASCII strings with as little copying as possible.
+ *
+ * Each string is copied once into a scratch buffer that is reused for every string in every batch,
+ * upper-cased there, and turned into the result String. Strings that are already upper case are
+ * returned as they are. Anything that isn't plain ASCII goes through String#toUpperCase, and so does
+ * everything when the default locale has its own rules for ASCII letters (the dotted and dotless i
+ * of Turkish, Azeri and Lithuanian).
+ *
+ * Not thread safe, because of the buffer; use one per thread.
+ */
+final class BulkCaseTransformer {
+
+    private char[] buffer = new char[64];
+
+    List<String> upperCaseAll(final List<String> strings) {
+        final boolean asciiIsSafe = asciiFollowsRootLocale(Locale.getDefault());
+        final List<String> result = new ArrayList<>(strings.size());
+        for (String s : strings) {
+            result.add(asciiIsSafe ? upperCase(s) : s.toUpperCase());
+        }
+        return result;
+    }
+
+    /*
+     * Like IntroProblems#helperFunction for every string, which only ever touches the third character
+     */
+    List<String> upperCaseThirdCharacterOfAll(final List<String> strings) {
+        final List<String> result = new ArrayList<>(strings.size());
+        for (String s : strings) {
+            result.add(upperCaseThirdCharacter(s));
+        }
+        return result;
+    }
+
+    String upperCase(final String s) {
+        final int length = s.length();
+        final char[] chars = bufferOf(length);
+        s.getChars(0, length, chars, 0);
+        boolean changed = false;
+        for (int i = 0; i < length; i++) {
+            final char c = chars[i];
+            if (c >= 0x80) {
+                return s.toUpperCase();
+            }
+            if (c >= 'a' && c <= 'z') {
+                chars[i] = (char) (c - ('a' - 'A'));
+                changed = true;
+            }
+        }
+        return changed ? new String(chars, 0, length) : s;
+    }
+
+    String upperCaseThirdCharacter(final String s) {
+        if (s.length() < 3) {
+            return s;
+        }
+        final char third = s.charAt(2);
+        final char upper = Character.toUpperCase(third);
+        if (upper == third) {
+            return s;
+        }
+        final int length = s.length();
+        final char[] chars = bufferOf(length);
+        s.getChars(0, length, chars, 0);
+        chars[2] = upper;
+        return new String(chars, 0, length);
+    }
+
+    private char[] bufferOf(final int length) {
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        }
+        return buffer;
+    }
+
+    private static boolean asciiFollowsRootLocale(final Locale locale) {
+        final String language = locale.getLanguage();
+        return !("tr".equals(language) || "az".equals(language) || "lt".equals(language));
+    }
+
+}
@@ -0,0 +1,45 @@
+package no.finntech.workshop;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/*
+ * AccountService decorator that remembers accounts, and the account numbers that have no account
+ */
+final class CachingAccountService implements OptionalProblems.AccountService {
+
+    private final OptionalProblems.AccountService accountService;
+
+    private final LookupCache<String, OptionalProblems.Account> cache;
+
+    CachingAccountService(final OptionalProblems.AccountService accountService, final int maximumSize,
+                          final long ttl, final long negativeTtl, final TimeUnit unit) {
+        this(accountService, new LookupCache<>(maximumSize, ttl, negativeTtl, unit));
+    }
+
+    CachingAccountService(final OptionalProblems.AccountService accountService,
+                          final LookupCache<String, OptionalProblems.Account> cache) {
+        this.accountService = accountService;
+        this.cache = cache;
+    }
+
+    @Override
+    public OptionalProblems.Account getAccount(final String accountNumber) {
+        return accountNumber == null ? null : cache.get(accountNumber, accountService::getAccount);
+    }
+
+    /*
+     * The account numbers not cached go to the account service's own getAccounts, in one call
+     */
+    @Override
+    public Map<String, OptionalProblems.Account> getAccounts(final Collection<String> accountNumbers) {
+        final List<String> numbers = accountNumbers.stream().filter(Objects::nonNull).collect(toList());
+        return cache.getAll(numbers, accountService::getAccounts);
+    }
+
+}
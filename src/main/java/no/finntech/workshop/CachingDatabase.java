@@ -0,0 +1,39 @@
+package no.finntech.workshop;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Database decorator that remembers customers, and the ids that have no customer
+ */
+final class CachingDatabase implements OptionalProblems.Database {
+
+    private final OptionalProblems.Database database;
+
+    private final LookupCache<Long, OptionalProblems.Customer> cache;
+
+    CachingDatabase(final OptionalProblems.Database database, final int maximumSize,
+                    final long ttl, final long negativeTtl, final TimeUnit unit) {
+        this(database, new LookupCache<>(maximumSize, ttl, negativeTtl, unit));
+    }
+
+    CachingDatabase(final OptionalProblems.Database database, final LookupCache<Long, OptionalProblems.Customer> cache) {
+        this.database = database;
+        this.cache = cache;
+    }
+
+    @Override
+    public OptionalProblems.Customer getCustomer(final long id) {
+        return cache.get(id, database::getCustomer);
+    }
+
+    /*
+     * The ids not cached go to the database's own getCustomers, in one call
+     */
+    @Override
+    public Map<Long, OptionalProblems.Customer> getCustomers(final Collection<Long> ids) {
+        return cache.getAll(ids, database::getCustomers);
+    }
+
+}
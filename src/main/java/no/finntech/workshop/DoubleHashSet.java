@@ -0,0 +1,212 @@
+package no.finntech.workshop;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+/*
+ * A set of doubles without boxing: an open addressing table of their Double#doubleToLongBits.
+ *
+ * Equality is that of Double#equals: every NaN is the same one NaN, and 0.0 and -0.0 are different.
+ * About 8 to 16 bytes per element, where a HashSet<Double> takes around 60. Not thread safe.
+ */
+final class DoubleHashSet {
+
+    // the bits of 0.0, which is kept on the side
+    private static final long FREE = 0L;
+
+    private long[] slots;
+    private int mask;
+    private int used;
+    private boolean hasZero;
+
+    DoubleHashSet() {
+        this(16);
+    }
+
+    DoubleHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /*
+     * Partial sets of a parallel stream are merged into whichever of the two is bigger
+     */
+    static DoubleHashSet collect(DoubleStream doubles) {
+        return doubles.collect(DoubleHashSet::new, DoubleHashSet::add, DoubleHashSet::drain);
+    }
+
+    int size() {
+        return used + (hasZero ? 1 : 0);
+    }
+
+    boolean contains(double d) {
+        long bits = Double.doubleToLongBits(d);
+        if (bits == FREE) {
+            return hasZero;
+        }
+        return slots[slotOf(bits)] == bits;
+    }
+
+    /*
+     * @return whether d was new to the set
+     */
+    boolean add(double d) {
+        return addBits(Double.doubleToLongBits(d));
+    }
+
+    void addAll(DoubleHashSet other) {
+        ensureCapacity(used + other.used);
+        for (long bits : other.slots) {
+            if (bits != FREE) {
+                addBits(bits);
+            }
+        }
+        hasZero |= other.hasZero;
+    }
+
+    /*
+     * Moves the elements of other into this set and leaves other empty.
+     * If other is the bigger one its table is taken over, so only the smaller side is ever rehashed.
+     */
+    void drain(DoubleHashSet other) {
+        if (other.used > used) {
+            long[] ours = slots;
+            int ourUsed = used;
+            slots = other.slots;
+            mask = other.mask;
+            used = other.used;
+            ensureCapacity(used + ourUsed);
+            for (long bits : ours) {
+                if (bits != FREE) {
+                    addBits(bits);
+                }
+            }
+            hasZero |= other.hasZero;
+        } else {
+            addAll(other);
+        }
+        other.allocate(16);
+        other.used = 0;
+        other.hasZero = false;
+    }
+
+    void forEach(DoubleConsumer action) {
+        if (hasZero) {
+            action.accept(0.0);
+        }
+        for (long bits : slots) {
+            if (bits != FREE) {
+                action.accept(Double.longBitsToDouble(bits));
+            }
+        }
+    }
+
+    double[] toArray() {
+        double[] doubles = new double[size()];
+        int[] next = new int[1];
+        forEach(d -> doubles[next[0]++] = d);
+        return doubles;
+    }
+
+    /*
+     * A read-only Set<Double> view, for code that needs one
+     */
+    Set<Double> asSet() {
+        return new AbstractSet<Double>() {
+            @Override
+            public int size() {
+                return DoubleHashSet.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Double && DoubleHashSet.this.contains((Double) o);
+            }
+
+            @Override
+            public Iterator<Double> iterator() {
+                double[] snapshot = DoubleHashSet.this.toArray();
+                return new Iterator<Double>() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < snapshot.length;
+                    }
+
+                    @Override
+                    public Double next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return snapshot[i++];
+                    }
+                };
+            }
+        };
+    }
+
+    private boolean addBits(long bits) {
+        if (bits == FREE) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int slot = slotOf(bits);
+        if (slots[slot] == bits) {
+            return false;
+        }
+        slots[slot] = bits;
+        if (++used > (slots.length >> 1) + (slots.length >> 2)) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int entries) {
+        int capacity = capacityFor(entries);
+        if (capacity > slots.length) {
+            rehash(capacity);
+        }
+    }
+
+    private int slotOf(long bits) {
+        int slot = mix(bits) & mask;
+        while (slots[slot] != FREE && slots[slot] != bits) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        allocate(capacity);
+        for (long bits : old) {
+            if (bits != FREE) {
+                slots[slotOf(bits)] = bits;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = 16;
+        while (capacity / 4 * 3 < entries) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(long bits) {
+        long h = bits * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,91 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/*
+ * Finds the first element of a list, in list order, whose extracted value matches, using several workers.
+ *
+ * The workers take chunks of the list in ascending order. Once a match is found, nobody starts
+ * on anything after it, and chunks already under way stop when they reach it. Every element
+ * is looked at by exactly one worker, so the extractor runs at most once per element.
+ *
+ * The workers index into the list, so a list without RandomAccess (a LinkedList, say) is copied
+ * to an array-backed one first: one O(n) pass instead of an O(n) walk for every element.
+ */
+final class FirstMatchSearch<T, R> {
+
+    private static final class Match<R> {
+        final int index;
+        final R value;
+
+        Match(int index, R value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+
+    private final List<T> items;
+    private final Function<? super T, ? extends R> extractor;
+    private final Predicate<? super R> matches;
+    private final int chunkSize;
+    private final AtomicInteger nextChunk = new AtomicInteger();
+    private final AtomicReference<Match<R>> first = new AtomicReference<>(new Match<>(Integer.MAX_VALUE, null));
+
+    private FirstMatchSearch(List<T> items, Function<? super T, ? extends R> extractor,
+                             Predicate<? super R> matches, int chunkSize) {
+        this.items = items;
+        this.extractor = extractor;
+        this.matches = matches;
+        this.chunkSize = chunkSize;
+    }
+
+    static <T, R> Optional<R> findFirst(List<T> items, Function<? super T, ? extends R> extractor,
+                                        Predicate<? super R> matches, ForkJoinPool pool) {
+        List<T> indexed = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        int parallelism = pool.getParallelism();
+        int chunkSize = Math.max(64, indexed.size() / (parallelism * 32));
+        FirstMatchSearch<T, R> search = new FirstMatchSearch<>(indexed, extractor, matches, chunkSize);
+        int chunks = (indexed.size() + chunkSize - 1) / chunkSize;
+        List<ForkJoinTask<?>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(parallelism, chunks); i++) {
+            workers.add(pool.submit(search::work));
+        }
+        for (ForkJoinTask<?> worker : workers) {
+            worker.join();
+        }
+        return Optional.ofNullable(search.first.get().value);
+    }
+
+    private void work() {
+        int size = items.size();
+        int from;
+        while ((from = nextChunk.getAndIncrement() * chunkSize) < size && from < first.get().index) {
+            int to = Math.min(size, from + chunkSize);
+            for (int i = from; i < to && i < first.get().index; i++) {
+                R value = extractor.apply(items.get(i));
+                if (matches.test(value)) {
+                    found(i, value);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void found(int index, R value) {
+        Match<R> match = new Match<>(index, value);
+        Match<R> current;
+        do {
+            current = first.get();
+        } while (index < current.index && !first.compareAndSet(current, match));
+    }
+
+}
@@ -0,0 +1,157 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+/*
+ * Updates of a ConcurrentMap for keys many threads hit at once.
+ *
+ * ConcurrentHashMap#compute holds the lock of the key's bin while the remapping function runs, so
+ * every other thread on that key (or bin) waits. compute here runs the function without a lock and
+ * installs the result with a compare-and-set, retrying if another thread got there first: better
+ * for cheap functions, but the function may run more than once and must not have side effects.
+ *
+ * For the hottest keys, update() goes further: the updates queue up per key, and whichever thread
+ * finds the queue unattended applies up to MAX_BATCH of them with a single compare-and-set.
+ */
+final class HotKeyUpdater<K, V> {
+
+    private static final int MAX_BATCH = 64;
+
+    private final ConcurrentMap<K, V> map;
+    private final ConcurrentMap<K, Batch<V>> batches = new ConcurrentHashMap<>();
+    private final BiConsumer<? super K, ? super RuntimeException> onFailedUpdate;
+
+    /*
+     * Failed batched updates go to the uncaught exception handler of the thread that happened to apply them
+     */
+    HotKeyUpdater(ConcurrentMap<K, V> map) {
+        this(map, (key, e) -> Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e));
+    }
+
+    /*
+     * @param onFailedUpdate told about every batched update that threw, which by then was skipped
+     */
+    HotKeyUpdater(ConcurrentMap<K, V> map, BiConsumer<? super K, ? super RuntimeException> onFailedUpdate) {
+        this.map = map;
+        this.onFailedUpdate = onFailedUpdate;
+    }
+
+    /*
+     * Same contract as Map#compute: a null result removes the key
+     *
+     * @return the new value
+     */
+    V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        while (true) {
+            V old = map.get(key);
+            V updated = remapping.apply(key, old);
+            if (old == null) {
+                if (updated == null || map.putIfAbsent(key, updated) == null) {
+                    return updated;
+                }
+            } else if (updated == null) {
+                if (map.remove(key, old)) {
+                    return null;
+                }
+            } else if (map.replace(key, old, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    /*
+     * Queues the update of key for batching with the other updates to it, which are applied in the order they were queued.
+     * The update is applied by the time this call returns, possibly by another thread as part of its batch.
+     * A call applies at most MAX_BATCH queued updates at a time and stops as soon as its own update is in, so
+     * the work done by one caller is bounded by the updates queued ahead of it, however many keep arriving.
+     *
+     * As the update may run on another thread, an update that throws a RuntimeException is skipped, on its own,
+     * and handed to onFailedUpdate; the rest of its batch is applied.
+     */
+    void update(K key, UnaryOperator<V> update) {
+        Batch<V> batch = batches.computeIfAbsent(key, k -> new Batch<>());
+        Pending<V> mine = new Pending<>(update);
+        batch.pending.add(mine);
+        while (!mine.applied) {
+            if (!batch.draining.compareAndSet(false, true)) {
+                Thread.yield();
+                continue;
+            }
+            try {
+                drain(key, batch);
+            } finally {
+                batch.draining.set(false);
+            }
+        }
+        if (batch.pending.isEmpty()) {
+            // whoever still queues to a removed batch drains it on its own before returning
+            batches.remove(key, batch);
+        }
+    }
+
+    /*
+     * The number of keys with a batch still kept, which once the updates settle are only those in the middle of one
+     */
+    int batchedKeys() {
+        return batches.size();
+    }
+
+    private void drain(K key, Batch<V> batch) {
+        List<Pending<V>> updates = new ArrayList<>();
+        for (Pending<V> next = batch.pending.poll(); next != null; next = batch.pending.poll()) {
+            updates.add(next);
+            if (updates.size() == MAX_BATCH) {
+                break;
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        List<RuntimeException> failures = new ArrayList<>();
+        try {
+            compute(key, (k, v) -> {
+                // only the failures of the attempt that got in count
+                failures.clear();
+                for (Pending<V> each : updates) {
+                    try {
+                        v = each.update.apply(v);
+                    } catch (RuntimeException e) {
+                        failures.add(e);
+                    }
+                }
+                return v;
+            });
+        } finally {
+            for (Pending<V> each : updates) {
+                each.applied = true;
+            }
+        }
+        for (RuntimeException failure : failures) {
+            onFailedUpdate.accept(key, failure);
+        }
+    }
+
+    private static final class Batch<V> {
+        final Queue<Pending<V>> pending = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+    }
+
+    private static final class Pending<V> {
+        final UnaryOperator<V> update;
+        volatile boolean applied;
+
+        Pending(UnaryOperator<V> update) {
+            this.update = update;
+        }
+    }
+
+}
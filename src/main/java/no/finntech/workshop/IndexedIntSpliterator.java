@@ -0,0 +1,64 @@
+package no.finntech.workshop;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.LongToIntFunction;
+
+/*
+ * The ints f(origin), f(origin + 1), .., f(fence - 1), computed as they are walked.
+ *
+ * Since every value only depends on its index, this is SIZED and splits in halves in constant time,
+ * which IntStream.iterate can't do: there each value needs the one before it.
+ */
+final class IndexedIntSpliterator implements Spliterator.OfInt {
+
+    private final LongToIntFunction valueAt;
+    private long index;
+    private final long fence;
+
+    IndexedIntSpliterator(long origin, long fence, LongToIntFunction valueAt) {
+        this.valueAt = valueAt;
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (index < fence) {
+            action.accept(valueAt.applyAsInt(index++));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        long i = index;
+        index = fence;
+        for (; i < fence; i++) {
+            action.accept(valueAt.applyAsInt(i));
+        }
+    }
+
+    @Override
+    public OfInt trySplit() {
+        long origin = index;
+        long middle = (origin + fence) >>> 1;
+        if (origin >= middle) {
+            return null;
+        }
+        index = middle;
+        return new IndexedIntSpliterator(origin, middle, valueAt);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+    }
+
+}
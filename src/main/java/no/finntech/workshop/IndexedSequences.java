@@ -0,0 +1,44 @@
+package no.finntech.workshop;
+
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Sequences where the value at an index can be computed from the index alone.
+ *
+ * Where IntStream.iterate(seed, f).limit(n) walks from one value to the next and so never splits,
+ * these know their size and split in constant time, so they parallelize like IntStream.range.
+ */
+final class IndexedSequences {
+
+    private IndexedSequences() {
+    }
+
+    /*
+     * valueAt(0), valueAt(1), .., valueAt(count - 1)
+     */
+    static IntStream ints(long count, LongToIntFunction valueAt) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count " + count);
+        }
+        return StreamSupport.intStream(new IndexedIntSpliterator(0, count, valueAt), false);
+    }
+
+    /*
+     * first, first + step, first + 2 * step, .. count of them, wrapping around like int arithmetic does
+     */
+    static IntStream arithmetic(int first, int step, long count) {
+        return ints(count, i -> (int) (first + i * step));
+    }
+
+    /*
+     * firstKey -> f(firstKey), .., lastKey -> f(lastKey), with the values computed when asked for
+     */
+    static Map<Integer, Integer> lazyMap(int firstKey, int lastKey, IntUnaryOperator f) {
+        return new LazyIntMap(firstKey, lastKey, f);
+    }
+
+}
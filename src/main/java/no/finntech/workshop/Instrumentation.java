@@ -0,0 +1,36 @@
+package no.finntech.workshop;
+
+/*
+ * Where the prime searches in NeophyteProblems report how long they took and how much they did.
+ * The DISABLED instance does nothing, and callers check isEnabled() before doing any extra work.
+ */
+interface Instrumentation {
+
+    Instrumentation DISABLED = new Instrumentation() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordNanos(String operation, long nanos) {
+        }
+
+        @Override
+        public void elementsProcessed(long count) {
+        }
+
+        @Override
+        public void primesFound(long count) {
+        }
+    };
+
+    boolean isEnabled();
+
+    void recordNanos(String operation, long nanos);
+
+    void elementsProcessed(long count);
+
+    void primesFound(long count);
+
+}
@@ -0,0 +1,266 @@
+package no.finntech.workshop;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/*
+ * A map from int to int without any boxing, for when a Map<Integer, Integer> would cost
+ * a node and two Integers per entry.
+ *
+ * As long as the keys are added as one contiguous ascending run (like 1..N), the values simply
+ * sit in an int[] indexed by key - first key. Any other key turns it into an open addressing
+ * hash table with linear probing. Not thread safe.
+ */
+final class IntIntMap {
+
+    interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    private static final int FREE = 0;
+
+    // dense mode: keys denseMin .. denseMin + size - 1
+    private boolean dense = true;
+    private int denseMin;
+    private int[] denseValues = new int[0];
+
+    // hashed mode: FREE marks an empty slot, so the key 0 is kept on the side
+    private int[] keys;
+    private int[] values;
+    private boolean hasZeroKey;
+    private int zeroValue;
+    private int mask;
+
+    private int size;
+
+    /*
+     * Collects the keys into a map, with value(key) as the value of each.
+     * Works in parallel too; partial maps of neighbouring key runs merge into one dense map.
+     */
+    static IntIntMap collect(IntStream keys, IntUnaryOperator value) {
+        return keys.collect(IntIntMap::new, (map, key) -> map.put(key, value.applyAsInt(key)), IntIntMap::putAll);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(int key) {
+        if (dense) {
+            return isDenseKey(key);
+        }
+        if (key == FREE) {
+            return hasZeroKey;
+        }
+        return keys[slotOf(key)] == key;
+    }
+
+    int get(int key, int defaultValue) {
+        if (dense) {
+            return isDenseKey(key) ? denseValues[key - denseMin] : defaultValue;
+        }
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+
+    void put(int key, int value) {
+        if (dense) {
+            if (size == 0) {
+                denseMin = key;
+            }
+            if (isDenseKey(key)) {
+                denseValues[key - denseMin] = value;
+                return;
+            }
+            if ((long) key == (long) denseMin + size) {
+                if (size == denseValues.length) {
+                    int[] grown = new int[Math.max(8, size + (size >> 1))];
+                    System.arraycopy(denseValues, 0, grown, 0, size);
+                    denseValues = grown;
+                }
+                denseValues[size++] = value;
+                return;
+            }
+            toHashed();
+        }
+        putHashed(key, value);
+    }
+
+    void putAll(IntIntMap other) {
+        other.forEach(this::put);
+    }
+
+    void forEach(EntryConsumer action) {
+        if (dense) {
+            for (int i = 0; i < size; i++) {
+                action.accept(denseMin + i, denseValues[i]);
+            }
+            return;
+        }
+        if (hasZeroKey) {
+            action.accept(FREE, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /*
+     * A read-only Map<Integer, Integer> view, for code that needs one
+     */
+    Map<Integer, Integer> asMap() {
+        return new AbstractMap<Integer, Integer>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key instanceof Integer && IntIntMap.this.containsKey((Integer) key);
+            }
+
+            @Override
+            public Integer get(Object key) {
+                return containsKey(key) ? IntIntMap.this.get((Integer) key, 0) : null;
+            }
+
+            @Override
+            public Set<Entry<Integer, Integer>> entrySet() {
+                return new AbstractSet<Entry<Integer, Integer>>() {
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public Iterator<Entry<Integer, Integer>> iterator() {
+                        return entryIterator();
+                    }
+                };
+            }
+        };
+    }
+
+    private Iterator<Map.Entry<Integer, Integer>> entryIterator() {
+        int[] snapshotKeys = new int[size];
+        int[] snapshotValues = new int[size];
+        int[] next = new int[1];
+        forEach((key, value) -> {
+            snapshotKeys[next[0]] = key;
+            snapshotValues[next[0]++] = value;
+        });
+        return new Iterator<Map.Entry<Integer, Integer>>() {
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return i < snapshotKeys.length;
+            }
+
+            @Override
+            public Map.Entry<Integer, Integer> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<Integer, Integer> entry = new AbstractMap.SimpleImmutableEntry<>(snapshotKeys[i], snapshotValues[i]);
+                i++;
+                return entry;
+            }
+        };
+    }
+
+    private boolean isDenseKey(int key) {
+        long offset = (long) key - denseMin;
+        return offset >= 0 && offset < size;
+    }
+
+    private void toHashed() {
+        int[] oldValues = denseValues;
+        int oldMin = denseMin;
+        int oldSize = size;
+        dense = false;
+        denseValues = null;
+        allocate(capacityFor(oldSize + 1));
+        size = 0;
+        for (int i = 0; i < oldSize; i++) {
+            putHashed(oldMin + i, oldValues[i]);
+        }
+    }
+
+    private void putHashed(int key, int value) {
+        if (key == FREE) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > (keys.length >> 1) + (keys.length >> 2)) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /*
+     * The slot holding the key, or the free slot where it would go
+     */
+    private int slotOf(int key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = 16;
+        while (capacity * 3 / 4 < entries) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+}
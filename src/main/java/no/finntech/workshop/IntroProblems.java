@@ -1,5 +1,8 @@
+package no.finntech.workshop;
+
 import java.io.File;
 import java.util.List;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
@@ -9,6 +12,8 @@ import static java.util.stream.Collectors.toList;
 
 public class IntroProblems {
 
+    private static final ThreadLocal<BulkCaseTransformer> CASE_TRANSFORMER = ThreadLocal.withInitial(BulkCaseTransformer::new);
+
     /*
      * Should create and return a stream from a List
      */
@@ -63,6 +68,13 @@ public class IntroProblems {
         return null;
     }
 
+    /*
+     * Same as above as one presized loop, for when the stream setup is what shows up in the profile
+     */
+    public List<Integer> doubleAllTheIntsFused(List<Integer> ints) {
+        return FusedLists.map(ints, i -> i * 2);
+    }
+
     /*
     * Should create a Stream<File> from Stream<String> where the String can be assumed to be a valid path
     * (Hint java.io.File(String path) creates a File from a path)
@@ -87,6 +99,18 @@ public class IntroProblems {
         return null;
     }
 
+    /*
+     * The two methods above for big batches of mostly ASCII strings, with a scratch buffer per thread
+     * instead of a new char[] per string
+     */
+    public List<String> upperCasifyAllStringsInBulk(List<String> strings) {
+        return CASE_TRANSFORMER.get().upperCaseAll(strings);
+    }
+
+    public List<String> uppercasifyThirdCharacterOnAllStringsInBulk(List<String> strings) {
+        return CASE_TRANSFORMER.get().upperCaseThirdCharacterOfAll(strings);
+    }
+
     public String helperFunction(String s) {
         char[] chars = s.toCharArray();
         if (chars.length >= 3) {
@@ -102,6 +126,13 @@ public class IntroProblems {
         return null;
     }
 
+    /*
+     * Same as above, fused
+     */
+    public List<String> removeLongStringsFused(List<String> strings) {
+        return FusedLists.filter(strings, s -> s.length() <= 5);
+    }
+
     /*
      * Return a sublist from a list where all elements satisfy a provided Predicate
      */
@@ -109,6 +140,30 @@ public class IntroProblems {
         return null;
     }
 
+    /*
+     * Same as above, fused
+     */
+    public List<Double> customExcludeFromListFused(List<Double> nums, Predicate<Double> predicate) {
+        return FusedLists.filter(nums, predicate);
+    }
+
+    /*
+     * Same as above, but the elements are removed from nums itself, which is returned.
+     * For lists you own and mostly throw away: no second list is made.
+     */
+    public List<Double> customExcludeFromListInPlace(List<Double> nums, Predicate<Double> predicate) {
+        return FusedLists.retainInPlace(nums, predicate);
+    }
+
+    /*
+     * Same as above for a double[] without boxing: the kept values are moved to the front
+     *
+     * @return how many of them there are
+     */
+    public int customExcludeFromArrayInPlace(double[] nums, DoublePredicate predicate) {
+        return FusedLists.retainInPlace(nums, nums.length, predicate);
+    }
+
     /*
      * Return a sublist of something generic where the predicate is FALSE
      * (that is, the negated predicate is TRUE)
@@ -117,6 +172,20 @@ public class IntroProblems {
         return null;
     }
 
+    /*
+     * Same as above, fused
+     */
+    public <T> List<T> keepAllWhereNotFused(List<T> theThings, Predicate<T> thePredicate) {
+        return FusedLists.filter(theThings, thePredicate.negate());
+    }
+
+    /*
+     * Same as above, in place in theThings, which is returned
+     */
+    public <T> List<T> keepAllWhereNotInPlace(List<T> theThings, Predicate<T> thePredicate) {
+        return FusedLists.retainInPlace(theThings, thePredicate.negate());
+    }
+
     /*
      * There are several types of Stream (IntStream, DoubleStream, LongStream)
      * Convert an IntStream to a Stream<Integer>
@@ -132,4 +201,13 @@ public class IntroProblems {
         return null;
     }
 
+    /*
+     * Same as above, for when the Integers are already in a list.
+     * Unlike the fused list methods this returns a stream, so there is no result to presize, and nothing to fuse:
+     * copying the doubled values into an int[] first only added an allocation, and a range over the indexes was slower.
+     */
+    public IntStream convertAndDoubleValueFused(List<Integer> integers) {
+        return integers.stream().mapToInt(i -> i * 2);
+    }
+
 }
@@ -0,0 +1,108 @@
+package no.finntech.workshop;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+/*
+ * A read-only Map<Integer, Integer> of firstKey..lastKey to f(key), where nothing is computed up front.
+ *
+ * A value is computed the first time its key is looked up and remembered in a primitive map, so f
+ * runs at most once per key (or once more, if two threads ask for the same new key at the same time).
+ * Walking the entries computes them one by one without remembering them, so a view over a billion keys
+ * can be streamed through without ever holding them all.
+ */
+final class LazyIntMap extends AbstractMap<Integer, Integer> {
+
+    private final int firstKey;
+    private final int lastKey;
+    private final IntUnaryOperator function;
+    private final IntIntMap computed = new IntIntMap();
+
+    LazyIntMap(int firstKey, int lastKey, IntUnaryOperator function) {
+        if (lastKey < firstKey) {
+            throw new IllegalArgumentException("lastKey " + lastKey + " is before firstKey " + firstKey);
+        }
+        this.firstKey = firstKey;
+        this.lastKey = lastKey;
+        this.function = function;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, (long) lastKey - firstKey + 1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && inRange((Integer) key);
+    }
+
+    @Override
+    public Integer get(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        return valueOf((Integer) key);
+    }
+
+    int valueOf(int key) {
+        if (!inRange(key)) {
+            throw new IllegalArgumentException("key " + key + " is not in " + firstKey + ".." + lastKey);
+        }
+        synchronized (computed) {
+            if (computed.containsKey(key)) {
+                return computed.get(key, 0);
+            }
+        }
+        int value = function.applyAsInt(key);
+        synchronized (computed) {
+            computed.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public Set<Entry<Integer, Integer>> entrySet() {
+        return new AbstractSet<Entry<Integer, Integer>>() {
+            @Override
+            public int size() {
+                return LazyIntMap.this.size();
+            }
+
+            @Override
+            public Iterator<Entry<Integer, Integer>> iterator() {
+                return new Iterator<Entry<Integer, Integer>>() {
+                    private long next = firstKey;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next <= lastKey;
+                    }
+
+                    @Override
+                    public Entry<Integer, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int key = (int) next++;
+                        return new SimpleImmutableEntry<>(key, function.applyAsInt(key));
+                    }
+                };
+            }
+        };
+    }
+
+    private boolean inRange(int key) {
+        return key >= firstKey && key <= lastKey;
+    }
+
+}
@@ -0,0 +1,234 @@
+package no.finntech.workshop;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/*
+ * Size-bounded LRU cache with expiry for slow lookups that may return null.
+ *
+ * - null results are cached too (for their own, usually shorter, time to live)
+ * - concurrent misses on the same key share one call to the loader, also when they come in batches
+ * - the entries are split over up to 16 segments by key, each an LRU map with its own lock and its share
+ *   of maximumSize, so a hit only locks the segment of its key. Eviction is least recently used within
+ *   a segment; caches of fewer than 32 entries are one segment, and exactly LRU.
+ */
+final class LookupCache<K, V> {
+
+    private static final class Cached<V> {
+        final V value;
+        final long expiresAt;
+
+        Cached(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final int MIN_SEGMENT_SIZE = 16;
+
+    private final Map<K, Cached<V>>[] segments;
+    private final ConcurrentMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier clock;
+
+    LookupCache(int maximumSize, long ttl, long negativeTtl, TimeUnit unit) {
+        this(maximumSize, ttl, negativeTtl, unit, System::nanoTime);
+    }
+
+    LookupCache(int maximumSize, long ttl, long negativeTtl, TimeUnit unit, LongSupplier clock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive, was " + maximumSize);
+        }
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && maximumSize / (segmentCount * 2) >= MIN_SEGMENT_SIZE) {
+            segmentCount *= 2;
+        }
+        this.segments = newSegments(segmentCount, maximumSize);
+        this.ttlNanos = unit.toNanos(ttl);
+        this.negativeTtlNanos = unit.toNanos(negativeTtl);
+        this.clock = clock;
+    }
+
+    V get(K key, Function<? super K, ? extends V> loader) {
+        Cached<V> entry = lookup(key);
+        if (entry != null) {
+            return entry.value;
+        }
+        CompletableFuture<V> ours = new CompletableFuture<>();
+        CompletableFuture<V> theirs = loading.putIfAbsent(key, ours);
+        if (theirs != null) {
+            return await(theirs);
+        }
+        try {
+            // someone may have finished loading between our lookup and putIfAbsent
+            entry = lookup(key);
+            V value = entry != null ? entry.value : loader.apply(key);
+            if (entry == null) {
+                store(key, value);
+            }
+            ours.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Errors too, or whoever waits on ours would wait forever
+            ours.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, ours);
+        }
+    }
+
+    /*
+     * Same as get for many keys, with the misses loaded by one call to the batch loader
+     *
+     * @param loader gets the keys nobody else is loading, and leaves out the keys it found nothing for
+     * @return the values found by their key, keys without a value are left out
+     */
+    Map<K, V> getAll(Collection<? extends K> keys, Function<? super Set<K>, ? extends Map<K, V>> loader) {
+        Map<K, V> found = new HashMap<>();
+        Map<K, CompletableFuture<V>> ours = new HashMap<>();
+        Map<K, CompletableFuture<V>> theirs = new HashMap<>();
+        for (K key : keys) {
+            if (found.containsKey(key) || ours.containsKey(key) || theirs.containsKey(key)) {
+                continue;
+            }
+            Cached<V> entry = lookup(key);
+            if (entry == null) {
+                CompletableFuture<V> future = new CompletableFuture<>();
+                CompletableFuture<V> other = loading.putIfAbsent(key, future);
+                if (other == null) {
+                    // someone may have finished loading between our lookup and putIfAbsent
+                    entry = lookup(key);
+                    if (entry == null) {
+                        ours.put(key, future);
+                        continue;
+                    }
+                    future.complete(entry.value);
+                    loading.remove(key, future);
+                } else {
+                    theirs.put(key, other);
+                    continue;
+                }
+            }
+            if (entry.value != null) {
+                found.put(key, entry.value);
+            }
+        }
+        if (!ours.isEmpty()) {
+            try {
+                Map<K, V> loaded = loader.apply(Collections.unmodifiableSet(ours.keySet()));
+                ours.forEach((key, future) -> {
+                    V value = loaded.get(key);
+                    store(key, value);
+                    future.complete(value);
+                    if (value != null) {
+                        found.put(key, value);
+                    }
+                });
+            } catch (Throwable e) {
+                // Errors too, or whoever waits on ours would wait forever
+                ours.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                ours.forEach(loading::remove);
+            }
+        }
+        theirs.forEach((key, future) -> {
+            V value = await(future);
+            if (value != null) {
+                found.put(key, value);
+            }
+        });
+        return found;
+    }
+
+    void invalidate(K key) {
+        Map<K, Cached<V>> segment = segmentOf(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Map<K, Cached<V>> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Cached<V> lookup(K key) {
+        Map<K, Cached<V>> segment = segmentOf(key);
+        synchronized (segment) {
+            Cached<V> entry = segment.get(key);
+            if (entry != null && clock.getAsLong() - entry.expiresAt >= 0) {
+                segment.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void store(K key, V value) {
+        long ttl = value == null ? negativeTtlNanos : ttlNanos;
+        if (ttl <= 0) {
+            return;
+        }
+        Map<K, Cached<V>> segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, new Cached<>(value, clock.getAsLong() + ttl));
+        }
+    }
+
+    private Map<K, Cached<V>> segmentOf(K key) {
+        int h = key.hashCode();
+        // mix in the high bits, as HashMap does, before keeping only the low ones
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, Cached<V>>[] newSegments(int count, int maximumSize) {
+        Map<K, Cached<V>>[] segments = new Map[count];
+        for (int i = 0; i < count; i++) {
+            // spread the remainder, so the segments add up to maximumSize
+            int segmentSize = maximumSize / count + (i < maximumSize % count ? 1 : 0);
+            segments[i] = new LinkedHashMap<K, Cached<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Cached<V>> eldest) {
+                    return size() > segmentSize;
+                }
+            };
+        }
+        return segments;
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package no.finntech.workshop;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/*
+ * Executors for running many blocking lookups (SomeService, Database, AccountService) at once.
+ *
+ * On JDK 21 and later every lookup can get its own virtual thread, so a sleeping lookup
+ * doesn't hold on to a platform thread. The code is still compiled for JDK 8, and finds
+ * the virtual thread executor by reflection when it is there.
+ */
+final class LookupExecutors {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    private LookupExecutors() {
+    }
+
+    static ExecutorService platformThreads(int threads) {
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    static boolean virtualThreadsAvailable() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /*
+     * @throws UnsupportedOperationException when running on a JDK older than 21
+     */
+    static ExecutorService virtualThreadPerTask() {
+        if (!virtualThreadsAvailable()) {
+            throw new UnsupportedOperationException("Virtual threads need JDK 21 or later, this is " + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+
+    /*
+     * Runs the lookup for every input on the executor, waits for all of them,
+     * and returns the results in the order of the inputs.
+     * What the first failed lookup threw is rethrown as is.
+     */
+    static <T, R> List<R> fanOut(Collection<T> inputs, Function<? super T, ? extends R> lookup,
+                                 ExecutorService executor) throws InterruptedException {
+        List<Callable<R>> tasks = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            tasks.add(() -> lookup.apply(input));
+        }
+        List<R> results = new ArrayList<>(inputs.size());
+        for (Future<R> future : executor.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private static Method findVirtualThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+}
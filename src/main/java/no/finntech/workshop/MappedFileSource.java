@@ -0,0 +1,327 @@
+package no.finntech.workshop;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Streams over memory mapped files, so that the stream operations can run over files far larger than the heap.
+ *
+ * - ints and doubles are read as big-endian binary values, 4 and 8 bytes each
+ * - lines are newline separated text in an ASCII compatible charset, such as UTF-8 or ISO-8859-1
+ *
+ * The file is mapped at most a gigabyte at a time, and only the lines handed out are ever copied onto the heap.
+ * The streams split on value or line boundaries, so they work in parallel too.
+ * Close the stream (try-with-resources) to close the file.
+ */
+final class MappedFileSource {
+
+    private static final long MAX_REGION_BYTES = 1L << 30;
+
+    private static final long MIN_SPLIT_BYTES = 1L << 16;
+
+    private MappedFileSource() {
+    }
+
+    static IntStream ints(final Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        final long count = channel.size() / Integer.BYTES;
+        return StreamSupport.intStream(new IntRegionSpliterator(channel, 0, count), false)
+                            .onClose(closing(channel));
+    }
+
+    static DoubleStream doubles(final Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        final long count = channel.size() / Double.BYTES;
+        return StreamSupport.doubleStream(new DoubleRegionSpliterator(channel, 0, count), false)
+                            .onClose(closing(channel));
+    }
+
+    /*
+     * The lines of the file without their line terminator (\n or \r\n)
+     */
+    static Stream<CharSequence> lines(final Path file, final Charset charset) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return StreamSupport.stream(new LineSpliterator(channel, charset, 0, channel.size()), false)
+                            .onClose(closing(channel));
+    }
+
+    private static Runnable closing(final FileChannel channel) {
+        return () -> {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static MappedByteBuffer map(final FileChannel channel, final long position, final long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Fixed width values numbered [index, fence), mapped one region at a time
+     */
+    private abstract static class RegionSpliterator<B> {
+        final FileChannel channel;
+        final int width;
+        long index;
+        final long fence;
+        B region;
+        long regionStart;
+        long regionEnd;
+
+        RegionSpliterator(FileChannel channel, int width, long index, long fence) {
+            this.channel = channel;
+            this.width = width;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        abstract B view(ByteBuffer bytes);
+
+        /*
+         * Makes sure the value at index is in the mapped region, and returns its offset there
+         */
+        final int offset() {
+            if (region == null || index < regionStart || index >= regionEnd) {
+                regionStart = index;
+                regionEnd = Math.min(fence, index + MAX_REGION_BYTES / width);
+                region = view(map(channel, regionStart * width, (regionEnd - regionStart) * width));
+            }
+            return (int) (index - regionStart);
+        }
+
+        final long splitPoint() {
+            final long middle = (index + fence) >>> 1;
+            return (middle - index) * width < MIN_SPLIT_BYTES ? -1 : middle;
+        }
+
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+    }
+
+    private static final class IntRegionSpliterator extends RegionSpliterator<IntBuffer> implements Spliterator.OfInt {
+
+        IntRegionSpliterator(FileChannel channel, long index, long fence) {
+            super(channel, Integer.BYTES, index, fence);
+        }
+
+        @Override
+        IntBuffer view(ByteBuffer bytes) {
+            return bytes.asIntBuffer();
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            final int at = offset();
+            action.accept(region.get(at));
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (index < fence) {
+                final int from = offset();
+                final int to = (int) (regionEnd - regionStart);
+                for (int i = from; i < to; i++) {
+                    action.accept(region.get(i));
+                }
+                index = regionEnd;
+            }
+        }
+
+        @Override
+        public OfInt trySplit() {
+            final long middle = splitPoint();
+            if (middle < 0) {
+                return null;
+            }
+            final IntRegionSpliterator prefix = new IntRegionSpliterator(channel, index, middle);
+            index = middle;
+            return prefix;
+        }
+    }
+
+    private static final class DoubleRegionSpliterator extends RegionSpliterator<DoubleBuffer> implements Spliterator.OfDouble {
+
+        DoubleRegionSpliterator(FileChannel channel, long index, long fence) {
+            super(channel, Double.BYTES, index, fence);
+        }
+
+        @Override
+        DoubleBuffer view(ByteBuffer bytes) {
+            return bytes.asDoubleBuffer();
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            final int at = offset();
+            action.accept(region.get(at));
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            while (index < fence) {
+                final int from = offset();
+                final int to = (int) (regionEnd - regionStart);
+                for (int i = from; i < to; i++) {
+                    action.accept(region.get(i));
+                }
+                index = regionEnd;
+            }
+        }
+
+        @Override
+        public OfDouble trySplit() {
+            final long middle = splitPoint();
+            if (middle < 0) {
+                return null;
+            }
+            final DoubleRegionSpliterator prefix = new DoubleRegionSpliterator(channel, index, middle);
+            index = middle;
+            return prefix;
+        }
+    }
+
+    /*
+     * The lines that start in [position, end); the last of them may run past end
+     */
+    private static final class LineSpliterator implements Spliterator<CharSequence> {
+        private final FileChannel channel;
+        private final Charset charset;
+        private long position;
+        private final long end;
+        private final long fileSize;
+        private MappedByteBuffer region;
+        private long regionStart;
+
+        LineSpliterator(FileChannel channel, Charset charset, long position, long end) throws IOException {
+            this.channel = channel;
+            this.charset = charset;
+            this.position = position;
+            this.end = end;
+            this.fileSize = channel.size();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CharSequence> action) {
+            if (position >= end || position >= fileSize) {
+                return false;
+            }
+            final long newline = indexOfNewline(position);
+            final long lineEnd = newline < 0 ? fileSize : newline;
+            action.accept(decode(position, lineEnd));
+            position = newline < 0 ? fileSize : newline + 1;
+            return true;
+        }
+
+        @Override
+        public Spliterator<CharSequence> trySplit() {
+            if (end - position < 2 * MIN_SPLIT_BYTES) {
+                return null;
+            }
+            final long newline = indexOfNewline(position + (end - position) / 2);
+            if (newline < 0 || newline + 1 >= end) {
+                return null;
+            }
+            try {
+                final LineSpliterator prefix = new LineSpliterator(channel, charset, position, newline + 1);
+                position = newline + 1;
+                return prefix;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.max(0, end - position) / 32;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        private long indexOfNewline(final long from) {
+            long i = from;
+            while (i < fileSize) {
+                mapFrom(i);
+                final int limit = region.limit();
+                for (int offset = (int) (i - regionStart); offset < limit; offset++) {
+                    if (region.get(offset) == '\n') {
+                        return regionStart + offset;
+                    }
+                }
+                i = regionStart + limit;
+            }
+            return -1;
+        }
+
+        private CharSequence decode(final long from, final long to) {
+            long stop = to;
+            if (stop > from && byteAt(stop - 1) == '\r') {
+                stop--;
+            }
+            if (stop - from > MAX_REGION_BYTES) {
+                throw new IllegalStateException("Line at byte " + from + " is longer than " + MAX_REGION_BYTES + " bytes");
+            }
+            if (from < regionStart || stop > regionStart + region.limit()) {
+                region = map(channel, from, Math.min(fileSize - from, MAX_REGION_BYTES));
+                regionStart = from;
+            }
+            final ByteBuffer line = region.duplicate();
+            line.position((int) (from - regionStart));
+            line.limit((int) (stop - regionStart));
+            return charset.decode(line);
+        }
+
+        private byte byteAt(final long at) {
+            mapFrom(at);
+            return region.get((int) (at - regionStart));
+        }
+
+        private void mapFrom(final long at) {
+            if (region == null || at < regionStart || at >= regionStart + region.limit()) {
+                region = map(channel, at, Math.min(fileSize - at, MAX_REGION_BYTES));
+                regionStart = at;
+            }
+        }
+    }
+
+}
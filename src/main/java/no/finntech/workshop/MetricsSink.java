@@ -0,0 +1,31 @@
+package no.finntech.workshop;
+
+/*
+ * Receives what a RecordingInstrumentation has collected when it is published
+ */
+interface MetricsSink {
+
+    void latency(String operation, LatencyHistogram histogram);
+
+    void counter(String name, long value);
+
+    /*
+     * Prints one line per metric, the way the workshop used to print its timings
+     */
+    static MetricsSink stdout() {
+        return new MetricsSink() {
+            @Override
+            public void latency(String operation, LatencyHistogram histogram) {
+                System.out.println(String.format("%s: count=%d mean=%.0fns p50=%dns p99=%dns max=%dns",
+                        operation, histogram.count(), histogram.mean(),
+                        histogram.percentile(50), histogram.percentile(99), histogram.max()));
+            }
+
+            @Override
+            public void counter(String name, long value) {
+                System.out.println(String.format("%s: %d", name, value));
+            }
+        };
+    }
+
+}
@@ -0,0 +1,323 @@
+package no.finntech.workshop;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+public class NeophyteProblems {
+
+    private static final PrimeSieve PRIME_SIEVE = new PrimeSieve();
+
+    private final Instrumentation instrumentation;
+
+    public NeophyteProblems() {
+        this(Instrumentation.DISABLED);
+    }
+
+    NeophyteProblems(Instrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    /*
+     * In a stream of ints, find all the prime numbers, and return the sum of them
+     */
+    public Integer sumAllPrimeNumbers(Stream<Integer> ints) {
+        return 0;
+    }
+
+    /*
+     * Same as above, but on primitive ints all the way, summed into a long so it doesn't overflow
+     */
+    public long sumAllPrimeNumbers(IntStream ints) {
+        if (!instrumentation.isEnabled()) {
+            return ints.filter(NeophyteProblems::isPrimeInt).asLongStream().sum();
+        }
+        // sum, elements, primes
+        long[] totals = ints.collect(() -> new long[3], (t, i) -> {
+            t[1]++;
+            if (isPrimeInt(i)) {
+                t[0] += i;
+                t[2]++;
+            }
+        }, (left, right) -> {
+            for (int k = 0; k < left.length; k++) {
+                left[k] += right[k];
+            }
+        });
+        instrumentation.elementsProcessed(totals[1]);
+        instrumentation.primesFound(totals[2]);
+        return totals[0];
+    }
+
+    public long sumAllPrimeNumbers(int[] ints) {
+        long sum = 0;
+        long primes = 0;
+        for (int i : ints) {
+            if (isPrimeInt(i)) {
+                sum += i;
+                primes++;
+            }
+        }
+        instrumentation.elementsProcessed(ints.length);
+        instrumentation.primesFound(primes);
+        return sum;
+    }
+
+    /*
+     * Helper method
+     * Everything below 4 counts as a prime here, the rest is looked up in a shared, lazily growing sieve
+     */
+    public Boolean isPrime(int i) {
+        return isPrimeInt(i);
+    }
+
+    private static boolean isPrimeInt(int i) {
+        return i < 4 || PRIME_SIEVE.isPrime(i);
+    }
+
+    /*
+     * With a single call to parallell() we can multi-thread the prime search.
+     * Compare this method to the one below:
+     */
+    public Integer sumPrimesOfVeryLargeListSequentially(Stream<Integer> ints) {
+        long before = System.nanoTime();
+        Integer result = sumAllPrimeNumbers(counted(ints));
+        instrumentation.recordNanos("sumPrimesSequentially", System.nanoTime() - before);
+        return result;
+    }
+
+    public Integer sumPrimesOfVeryLargeListInParallell(Stream<Integer> ints) {
+        long before = System.nanoTime();
+        Integer result = sumAllPrimeNumbers(counted(ints).parallel());
+        instrumentation.recordNanos("sumPrimesInParallell", System.nanoTime() - before);
+        return result;
+    }
+
+    /*
+     * The primes are counted on the way in, as the sum they go to is yours to write;
+     * a sieve lookup per element is cheap next to boxing it
+     */
+    private Stream<Integer> counted(Stream<Integer> ints) {
+        if (!instrumentation.isEnabled()) {
+            return ints;
+        }
+        return ints.peek(i -> {
+            instrumentation.elementsProcessed(1);
+            if (isPrimeInt(i)) {
+                instrumentation.primesFound(1);
+            }
+        });
+    }
+
+    /*
+     * Sums the primes in [from, to) with a fork/join task that splits the range itself,
+     * instead of relying on how well some Stream<Integer> happens to split.
+     * The sieve is grown up front so the workers don't queue up behind its lock.
+     */
+    public long sumPrimesInRangeInParallell(int from, int to) {
+        return sumPrimesInRangeInParallell(from, to, ForkJoinPool.commonPool());
+    }
+
+    public long sumPrimesInRangeInParallell(int from, int to, ForkJoinPool pool) {
+        if (from >= to) {
+            return 0;
+        }
+        long before = System.nanoTime();
+        PRIME_SIEVE.ensureSieved(to - 1);
+        LongAdder primes = new LongAdder();
+        IntPredicate isPrime = instrumentation.isEnabled() ? i -> {
+            boolean prime = isPrimeInt(i);
+            if (prime) {
+                primes.increment();
+            }
+            return prime;
+        } : NeophyteProblems::isPrimeInt;
+        long result = pool.invoke(PrimeSumTask.forParallelism(from, to, pool.getParallelism(), isPrime));
+        instrumentation.recordNanos("sumPrimesInRangeInParallell", System.nanoTime() - before);
+        instrumentation.elementsProcessed(to - (long) from);
+        instrumentation.primesFound(primes.sum());
+        return result;
+    }
+
+    /*
+     * join all strings (concatenate)
+     */
+    public String concatenateAll(Stream<String> stringStream) {
+        return "";
+    }
+
+    /*
+     * Same as above for lots of text: the strings are collected without copying, then copied into a buffer
+     * of exactly the right size that never has to grow
+     */
+    public String concatenateAllAtOnce(Stream<String> stringStream) {
+        return stringStream.collect(Rope.joining());
+    }
+
+    /*
+     * Same as above, but written to a channel (a file, a socket) without building the String at all
+     *
+     * @return the number of bytes written
+     */
+    public long concatenateAllTo(Stream<String> stringStream, WritableByteChannel channel, Charset charset) throws IOException {
+        return stringStream.collect(Rope.collector()).writeTo(channel, charset);
+    }
+
+    /*
+     * convert stream<Double> to Set<Double>
+     */
+    public Set<Double> collectDoubles(Stream<Double> doubles) {
+        return Collections.emptySet();
+    }
+
+    /*
+     * Same as above without boxing: a primitive set taking about a sixth of the memory of a HashSet<Double>.
+     * Equal means the same as in Double#equals, so all NaNs are one element and 0.0 is not -0.0.
+     * Use asSet() on the result where a Set<Double> is needed.
+     */
+    public DoubleHashSet collectDoubles(DoubleStream doubles) {
+        return DoubleHashSet.collect(doubles);
+    }
+
+    /*
+     * Same as above for sets too big for the heap: the doubles are kept off-heap as their doubleToLongBits,
+     * so equal means the same as in Double#equals. Close the set when done with it.
+     */
+    public OffHeapDoubleSet collectDoublesOffHeap(DoubleStream doubles) {
+        return doubles.collect(OffHeapDoubleSet::new, OffHeapDoubleSet::add, (left, right) -> {
+            left.addAll(right);
+            right.close();
+        });
+    }
+
+    /*
+     * The input to this method is the stream of ordered natural numbers (1,2,3,4,...)
+     * They should be transformed to a map where each number points to it's square :
+     * {1,2,3} should be transformed to the map {1 -> 1, 2 -> 4, 3 -> 9}
+     */
+    public Map<Integer, Integer> createMapFromIntegerToItsSquare(Stream<Integer> ints) {
+        return Collections.emptyMap();
+    }
+
+    /*
+     * Same as above without boxing: the squares go in a primitive map, which for 1..N is a flat int[]
+     */
+    public IntIntMap createIntMapFromIntegerToItsSquare(IntStream ints) {
+        return IntIntMap.collect(ints, i -> i * i);
+    }
+
+    /*
+     * Same as above, off-heap, for hundreds of millions of squares. Close the map when done with it.
+     */
+    public OffHeapIntIntMap createOffHeapMapFromIntegerToItsSquare(IntStream ints) {
+        return OffHeapIntIntMap.collect(ints, i -> i * i);
+    }
+
+    /*
+     * Create an IntStream of only the number 1, with a limit of 10 (length 10)
+     */
+    public IntStream createAnIntStreamOfLengh10() {
+        return IntStream.empty();
+    }
+
+    /*
+     * Same as above, as a stream that knows its length and can be split for parallel()
+     */
+    public IntStream createASplittableIntStreamOfLength10() {
+        return IndexedSequences.ints(10, i -> 1);
+    }
+
+    /*
+     * Create a map {1 -> 2, 2 -> 3, .., 1000 -> 1001}
+     * You can use IntStream.iterate, limit and the collect(toMap())
+     * The collect call forces evaluation of the stream, so it can't be of infinite size
+     *
+     * Hint : the boxed()-method creates a Stream<Integer> from an IntStream (handy if you want to use the Collectors.toMap() utility)
+     */
+    public Map<Integer, Integer> createMapOfNaturalNumbersToItsSuccessor() {
+        return Collections.emptyMap();
+    }
+
+    /*
+     * Same as above in a primitive map
+     */
+    public IntIntMap createIntMapOfNaturalNumbersToItsSuccessor() {
+        return IntIntMap.collect(IntStream.rangeClosed(1, 1000), i -> i + 1);
+    }
+
+    /*
+     * Same as above as a lazy view: each successor is computed, once, when it is looked up
+     */
+    public Map<Integer, Integer> createLazyMapOfNaturalNumbersToItsSuccessor() {
+        return IndexedSequences.lazyMap(1, 1000, i -> i + 1);
+    }
+
+    /*
+     * Use the reduce method to find the sum of a list
+     */
+    public Integer sumListByReduction(Stream<Integer> integerStream) {
+        return 0;
+    }
+
+    /*
+     * Same as above without boxing, summed into a long so it doesn't overflow
+     */
+    public long sumListByReductionToLong(IntStream intStream) {
+        return SumReduction.sum(intStream);
+    }
+
+    /*
+     * Same as above for longs, throwing an ArithmeticException rather than overflowing silently
+     */
+    public long sumListByReductionExact(LongStream longStream) {
+        return SumReduction.sumExact(longStream);
+    }
+
+    /*
+     * Same as above for doubles, compensating for the rounding of each addition
+     */
+    public double sumListByReductionCompensated(DoubleStream doubleStream) {
+        return SumReduction.sumCompensated(doubleStream);
+    }
+
+    /**
+     * Use the new compute() method in java.util.Map
+     * We would like to change the value with key 1
+     * The new value should be the String concatenated with itself
+     */
+    public String doubleStringThatkeyOnePointsTo(Map<Integer, String> map) {
+        return "";
+    }
+
+    /*
+     * Same as above on a map shared by many threads: the doubling is done outside any lock,
+     * and retried if another thread changed the value in the meantime.
+     * The updater is a thin wrapper around the map; callers doing this often should keep one HotKeyUpdater instead
+     */
+    public String doubleStringThatkeyOnePointsToConcurrently(ConcurrentMap<Integer, String> map) {
+        return new HotKeyUpdater<>(map).compute(1, (key, s) -> s == null ? null : s + s);
+    }
+
+    /*
+     * Create a function that takes an iterable, and a function. It should return an iterable, where all the elements have been
+     * run through the function. Such an operation is often called map.
+     */
+    public <T, S> Iterable<S> map(Iterable<T> list, Function<T, S> function) {
+        ArrayList<S> retVal = new ArrayList<>();
+        return retVal;
+    }
+
+}
@@ -0,0 +1,51 @@
+package no.finntech.workshop;
+
+import java.util.function.DoubleConsumer;
+
+/*
+ * A set of doubles kept outside of the heap, as an OffHeapLongSet of their Double#doubleToLongBits,
+ * so equal means the same as in Double#equals: NaN equals NaN, and 0.0 is not -0.0.
+ *
+ * Close it when done with it. Not thread safe.
+ */
+final class OffHeapDoubleSet implements AutoCloseable {
+
+    private final OffHeapLongSet bits;
+
+    OffHeapDoubleSet() {
+        this(16);
+    }
+
+    OffHeapDoubleSet(long expectedSize) {
+        bits = new OffHeapLongSet(expectedSize);
+    }
+
+    long size() {
+        return bits.size();
+    }
+
+    boolean contains(double value) {
+        return bits.contains(Double.doubleToLongBits(value));
+    }
+
+    /*
+     * @return whether the value was new to the set
+     */
+    boolean add(double value) {
+        return bits.add(Double.doubleToLongBits(value));
+    }
+
+    void addAll(OffHeapDoubleSet other) {
+        bits.addAll(other.bits);
+    }
+
+    void forEach(DoubleConsumer action) {
+        bits.forEach(value -> action.accept(Double.longBitsToDouble(value)));
+    }
+
+    @Override
+    public void close() {
+        bits.close();
+    }
+
+}
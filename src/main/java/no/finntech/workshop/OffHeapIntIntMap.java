@@ -0,0 +1,155 @@
+package no.finntech.workshop;
+
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/*
+ * IntIntMap kept outside of the heap, for maps with hundreds of millions of entries that would
+ * otherwise fill up the old generation. Open addressing with linear probing; a slot holds the key
+ * and the value side by side.
+ *
+ * Close it when done with it. Not thread safe.
+ */
+final class OffHeapIntIntMap implements AutoCloseable {
+
+    private static final int FREE = 0;
+    private static final int KEY = 0;
+    private static final int VALUE = 1;
+
+    private OffHeapPages slots;
+    private long mask;
+    private long used;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    OffHeapIntIntMap() {
+        this(16);
+    }
+
+    OffHeapIntIntMap(long expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /*
+     * Collects the keys into a map with value(key) as the value of each. The partial maps of a parallel
+     * stream are closed as they are merged.
+     */
+    static OffHeapIntIntMap collect(IntStream keys, IntUnaryOperator value) {
+        return keys.collect(OffHeapIntIntMap::new, (map, key) -> map.put(key, value.applyAsInt(key)), (left, right) -> {
+            left.putAll(right);
+            right.close();
+        });
+    }
+
+    long size() {
+        return used + (hasZeroKey ? 1 : 0);
+    }
+
+    boolean containsKey(int key) {
+        if (key == FREE) {
+            return hasZeroKey;
+        }
+        return slots.getInt(slotOf(key), KEY) == key;
+    }
+
+    int get(int key, int defaultValue) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        long slot = slotOf(key);
+        return slots.getInt(slot, KEY) == key ? slots.getInt(slot, VALUE) : defaultValue;
+    }
+
+    void put(int key, int value) {
+        if (key == FREE) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        long slot = slotOf(key);
+        if (slots.getInt(slot, KEY) != key) {
+            slots.putInt(slot, KEY, key);
+            if (++used > (slots.slots() >>> 1) + (slots.slots() >>> 2)) {
+                slots.putInt(slot, VALUE, value);
+                rehash(slots.slots() << 1);
+                return;
+            }
+        }
+        slots.putInt(slot, VALUE, value);
+    }
+
+    void putAll(OffHeapIntIntMap other) {
+        other.forEach(this::put);
+    }
+
+    void forEach(IntIntMap.EntryConsumer action) {
+        open();
+        if (hasZeroKey) {
+            action.accept(FREE, zeroValue);
+        }
+        for (long slot = 0; slot < slots.slots(); slot++) {
+            int key = slots.getInt(slot, KEY);
+            if (key != FREE) {
+                action.accept(key, slots.getInt(slot, VALUE));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (slots != null) {
+            slots.free();
+            slots = null;
+        }
+    }
+
+    private OffHeapPages open() {
+        if (slots == null) {
+            throw new IllegalStateException("The map has been closed");
+        }
+        return slots;
+    }
+
+    private long slotOf(int key) {
+        open();
+        long slot = mix(key) & mask;
+        int found;
+        while ((found = slots.getInt(slot, KEY)) != FREE && found != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(long capacity) {
+        OffHeapPages old = slots;
+        allocate(capacity);
+        for (long slot = 0; slot < old.slots(); slot++) {
+            int key = old.getInt(slot, KEY);
+            if (key != FREE) {
+                long to = slotOf(key);
+                slots.putInt(to, KEY, key);
+                slots.putInt(to, VALUE, old.getInt(slot, VALUE));
+            }
+        }
+        old.free();
+    }
+
+    private void allocate(long capacity) {
+        slots = new OffHeapPages(capacity);
+        mask = capacity - 1;
+    }
+
+    private static long capacityFor(long entries) {
+        long capacity = 16;
+        while (capacity / 4 * 3 < entries) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long mix(int key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+}
@@ -0,0 +1,132 @@
+package no.finntech.workshop;
+
+import java.util.function.LongConsumer;
+
+/*
+ * A set of longs kept outside of the heap, for sets too big for the old generation to carry.
+ * Open addressing with linear probing, one long per slot. OffHeapDoubleSet keeps doubles
+ * in one as their Double#doubleToLongBits.
+ *
+ * Close it when done with it. Not thread safe.
+ */
+final class OffHeapLongSet implements AutoCloseable {
+
+    private static final long FREE = 0L;
+
+    private OffHeapPages slots;
+    private long mask;
+    private long used;
+    private boolean hasZero;
+
+    OffHeapLongSet() {
+        this(16);
+    }
+
+    OffHeapLongSet(long expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    long size() {
+        return used + (hasZero ? 1 : 0);
+    }
+
+    boolean contains(long value) {
+        if (value == FREE) {
+            return hasZero;
+        }
+        return slots.getLong(slotOf(value)) == value;
+    }
+
+    /*
+     * @return whether the value was new to the set
+     */
+    boolean add(long value) {
+        if (value == FREE) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        long slot = slotOf(value);
+        if (slots.getLong(slot) == value) {
+            return false;
+        }
+        slots.putLong(slot, value);
+        if (++used > (slots.slots() >>> 1) + (slots.slots() >>> 2)) {
+            rehash(slots.slots() << 1);
+        }
+        return true;
+    }
+
+    void addAll(OffHeapLongSet other) {
+        other.forEach(this::add);
+    }
+
+    void forEach(LongConsumer action) {
+        open();
+        if (hasZero) {
+            action.accept(FREE);
+        }
+        for (long slot = 0; slot < slots.slots(); slot++) {
+            long value = slots.getLong(slot);
+            if (value != FREE) {
+                action.accept(value);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (slots != null) {
+            slots.free();
+            slots = null;
+        }
+    }
+
+    private OffHeapPages open() {
+        if (slots == null) {
+            throw new IllegalStateException("The set has been closed");
+        }
+        return slots;
+    }
+
+    private long slotOf(long value) {
+        open();
+        long slot = mix(value) & mask;
+        long found;
+        while ((found = slots.getLong(slot)) != FREE && found != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(long capacity) {
+        OffHeapPages old = slots;
+        allocate(capacity);
+        for (long slot = 0; slot < old.slots(); slot++) {
+            long value = old.getLong(slot);
+            if (value != FREE) {
+                slots.putLong(slotOf(value), value);
+            }
+        }
+        old.free();
+    }
+
+    private void allocate(long capacity) {
+        slots = new OffHeapPages(capacity);
+        mask = capacity - 1;
+    }
+
+    private static long capacityFor(long entries) {
+        long capacity = 16;
+        while (capacity / 4 * 3 < entries) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+}
@@ -0,0 +1,110 @@
+package no.finntech.workshop;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/*
+ * An array of 8-byte slots in direct ByteBuffers, outside of the Java heap, so the garbage collector
+ * never has to look at what is in it. The slots are spread over pages of 64 MiB, since a single
+ * ByteBuffer can't go beyond 2 GiB.
+ *
+ * free() gives the memory back right away where the JDK lets us, instead of waiting for the
+ * garbage collector to find the buffers; nothing may touch the pages afterwards.
+ */
+final class OffHeapPages {
+
+    private static final int PAGE_SLOT_BITS = 23;
+    private static final int PAGE_SLOTS = 1 << PAGE_SLOT_BITS;
+
+    private final ByteBuffer[] pages;
+    private final long slots;
+
+    OffHeapPages(long slots) {
+        this.slots = slots;
+        int pageCount = (int) ((slots + PAGE_SLOTS - 1) >>> PAGE_SLOT_BITS);
+        pages = new ByteBuffer[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            long pageSlots = Math.min(PAGE_SLOTS, slots - ((long) i << PAGE_SLOT_BITS));
+            pages[i] = ByteBuffer.allocateDirect((int) pageSlots * Long.BYTES).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    long slots() {
+        return slots;
+    }
+
+    long getLong(long slot) {
+        return pages[(int) (slot >>> PAGE_SLOT_BITS)].getLong((int) (slot & (PAGE_SLOTS - 1)) << 3);
+    }
+
+    void putLong(long slot, long value) {
+        pages[(int) (slot >>> PAGE_SLOT_BITS)].putLong((int) (slot & (PAGE_SLOTS - 1)) << 3, value);
+    }
+
+    /*
+     * The two halves of a slot, for maps that keep an int key and an int value together
+     */
+    int getInt(long slot, int half) {
+        return pages[(int) (slot >>> PAGE_SLOT_BITS)].getInt(((int) (slot & (PAGE_SLOTS - 1)) << 3) + (half << 2));
+    }
+
+    void putInt(long slot, int half, int value) {
+        pages[(int) (slot >>> PAGE_SLOT_BITS)].putInt(((int) (slot & (PAGE_SLOTS - 1)) << 3) + (half << 2), value);
+    }
+
+    void free() {
+        for (int i = 0; i < pages.length; i++) {
+            Cleaner.clean(pages[i]);
+            pages[i] = null;
+        }
+    }
+
+    /*
+     * Frees a direct buffer: through Unsafe#invokeCleaner on JDK 9+, through its Cleaner on JDK 8,
+     * and otherwise leaves it to the garbage collector
+     */
+    private static final class Cleaner {
+
+        private static final Object UNSAFE;
+        private static final Method INVOKE_CLEANER;
+
+        static {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                unsafe = theUnsafe.get(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                invokeCleaner = null;
+            }
+            UNSAFE = unsafe;
+            INVOKE_CLEANER = invokeCleaner;
+        }
+
+        static void clean(ByteBuffer buffer) {
+            if (buffer == null) {
+                return;
+            }
+            try {
+                if (INVOKE_CLEANER != null) {
+                    INVOKE_CLEANER.invoke(UNSAFE, buffer);
+                } else {
+                    Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(buffer);
+                    if (cleaner != null) {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // the garbage collector will get to it
+            }
+        }
+    }
+
+}
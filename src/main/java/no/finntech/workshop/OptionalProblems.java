@@ -0,0 +1,381 @@
+package no.finntech.workshop;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
+
+final class OptionalProblems {
+
+    interface SomeService {
+        String getDefaultValue();
+        Optional<Integer> tryMakeAnInteger(String value);
+        void printOut(String value);
+
+        /*
+         * Same as tryMakeAnInteger, but without boxing
+         */
+        OptionalInt tryMakeAnInt(String value);
+    }
+
+    interface Account {
+
+        /**
+         * Get the balance of the account
+         * @return null when no account history
+         */
+        Double getBalance();
+    }
+
+    interface AccountService {
+
+        /**
+         * Get an account by its number
+         * @param accountNumber
+         * @return null when account cannot be found
+         */
+        Account getAccount(String accountNumber);
+
+        /**
+         * Get many accounts in one go. Override this when the backend can do it in a single round trip,
+         * the default falls back to one getAccount call per number
+         * @param accountNumbers
+         * @return the accounts found by their number, numbers without an account are left out
+         */
+        default Map<String, Account> getAccounts(Collection<String> accountNumbers) {
+            final Map<String, Account> accounts = new HashMap<>();
+            for (String accountNumber : accountNumbers) {
+                final Account account = getAccount(accountNumber);
+                if (account != null) {
+                    accounts.put(accountNumber, account);
+                }
+            }
+            return accounts;
+        }
+    }
+
+    interface Customer {
+
+        /**
+         * Get the account number
+         * @return null when the customer does not have an account
+         */
+        String getAccountNumber();
+    }
+
+    interface Database {
+
+        /**
+         * Get a customer by its id
+         * @param id
+         * @return null when the customer cannot be found
+         */
+        Customer getCustomer(long id);
+
+        /**
+         * Get many customers in one go. Override this when the backend can do it in a single round trip,
+         * the default falls back to one getCustomer call per id
+         * @param ids
+         * @return the customers found by their id, ids without a customer are left out
+         */
+        default Map<Long, Customer> getCustomers(Collection<Long> ids) {
+            final Map<Long, Customer> customers = new HashMap<>();
+            for (Long id : ids) {
+                final Customer customer = getCustomer(id);
+                if (customer != null) {
+                    customers.put(id, customer);
+                }
+            }
+            return customers;
+        }
+    }
+
+    private final SomeService someService;
+
+    private final Database database;
+
+    private final AccountService accountService;
+
+    OptionalProblems(final SomeService someService, final Database database, final AccountService accountService) {
+        this.someService = someService;
+        this.database = database;
+        this.accountService = accountService;
+    }
+
+    // ----- TASKS BELOW -----
+
+    public Optional<Integer> createOptionalOfNullable(final Integer nullableValue) {
+        return null;
+    }
+
+    /*
+     * The primitive flavour of the above, with no Optional around a boxed Integer
+     */
+    public OptionalInt createOptionalIntOfNullable(final Integer nullableValue) {
+        return nullableValue == null ? OptionalInt.empty() : OptionalInt.of(nullableValue);
+    }
+
+    public Optional<Integer> createOptionalOfNonNullable(final Integer nonNullableValue) {
+        return null;
+    }
+
+    /*
+     * The primitive flavour of the above: an int is never null, so nothing is boxed on the way in either
+     */
+    public OptionalInt createOptionalIntOfNonNullable(final int nonNullableValue) {
+        return OptionalInt.of(nonNullableValue);
+    }
+
+    public Optional<Integer> createEmptyOptional() {
+        return null;
+    }
+
+    public String returnValueWithinOptionalOrDefaultValue(final Optional<String> optional, final String defaultValue) {
+        return null;
+    }
+
+    public String returnValueWithinOptionalOrFetchDefaultValue(final Optional<String> optional,
+                                                               final Supplier<String> defaultValueSupplier) {
+        return null;
+    }
+
+    /*
+     * Use someService#getDefaultValue() as a Supplier<String> for the default value
+     */
+    public String returnValueWithinOptionalOrUseDefaultValueMethod(final Optional<String> optional) {
+        return null;
+    }
+
+    public String returnValueWithinOptionalOrThrowRuntimeException(final Optional<String> optional) {
+        return null;
+    }
+
+    /*
+     * Hint: when you want to transform a value inside an Optional, use Optional#map(Function)
+     */
+    public Optional<String> turnOptionalIntegerIntoOptionalString(final Optional<Integer> optionalInteger) {
+        return null;
+    }
+
+    /*
+     * Hint: combine Optional#map(Function) and Optional#orElse(T)
+     */
+    public String turnIntegerIntoStringOrEmptyString(final Optional<Integer> integer) {
+        return null;
+    }
+
+    /*
+     * Use someService#tryMakeAnInteger(String) and flatten the result of the mapping
+     *
+     * Hint: to flatten and map at the same time, use Optional#flatMap(Function)
+     */
+    public Optional<Integer> tryMakeAnIntegerOutOfAnOptionalString(final Optional<String> optionalValue) {
+        return null;
+    }
+
+    /*
+     * The primitive flavour of the above, using someService#tryMakeAnInt(String).
+     * OptionalInt has no flatMap, so the String is unwrapped by hand
+     */
+    public OptionalInt tryMakeAnIntOutOfAnOptionalString(final Optional<String> optionalValue) {
+        return optionalValue.isPresent() ? someService.tryMakeAnInt(optionalValue.get()) : OptionalInt.empty();
+    }
+
+    /*
+     * Make the given value an Optional that will be empty if the String was null or an empty String
+     *
+     * Hint: combine Optional#ofNullable(T) and Optional#filter(Predicate)
+     *
+     * @param value may be null
+     * @return an Optional that will be empty if the String was null or an empty String
+     */
+    public Optional<String> keepNonEmptyNullableString(final String value) {
+        return null;
+    }
+
+    /*
+     * Execute the side effect someService#printOut(String) only when the value is present
+     *
+     * Hint: side-effects can be executed through Optional#ifPresent(Consumer)
+     */
+    public void executeSideEffectWhenValueIsPresent(Optional<String> optional) {
+        ;
+    }
+
+    /*
+     * Keep all the integers from the present (non-empty) optionals and return them as a List
+     *
+     * Hint: use List#stream() to then use Stream#flatMap(Function) where the mapping function
+     *       turns each Optional in the list into a Stream of one or an empty Stream (Optional#map(Function))
+     */
+    public List<Integer> retainAllIntegers(List<Optional<Integer>> list) {
+        return null;
+    }
+
+    /*
+     * Same as retainAllIntegers, but as a lazy IntStream that can be consumed bit by bit, or in parallel,
+     * without a Stream per element or a List of the whole result
+     */
+    public IntStream streamAllIntegers(final List<Optional<Integer>> list) {
+        if (list instanceof RandomAccess) {
+            return StreamSupport.intStream(new PresentIntSpliterator(list), false);
+        }
+        return list.stream().filter(Optional::isPresent).mapToInt(Optional::get);
+    }
+
+    /*
+     * The primitive flavour of the above: one int[] for the result, and nothing else
+     */
+    public int[] retainAllInts(final List<OptionalInt> list) {
+        int present = 0;
+        for (OptionalInt optional : list) {
+            if (optional.isPresent()) {
+                present++;
+            }
+        }
+        final int[] ints = new int[present];
+        int i = 0;
+        for (OptionalInt optional : list) {
+            if (optional.isPresent()) {
+                ints[i++] = optional.getAsInt();
+            }
+        }
+        return ints;
+    }
+
+    /*
+     * Use database and accountService to retrieve the balance of the account of the client given its id
+     * Return a balance of 0.0 in case the account does not have a balance (no operations history)
+     *
+     * @param customerId may be null
+     * @return the balance of the account, or 0.0 in case the account does not have a balance
+     */
+    public Double getBalance(final Integer customerId) {
+        // the unsafe way to do it
+//        return accountService.getAccount(database.getCustomer(customerId).getAccountNumber()).getBalance();
+
+        // the null-check way to do it
+//        Double balance = 0.0;
+//        if(customerId != null) {
+//            final Customer customer = database.getCustomer(customerId);
+//            if(customer != null) {
+//                final String accountNumber = customer.getAccountNumber();
+//                if(accountNumber != null) {
+//                    final Account account = accountService.getAccount(accountNumber);
+//                    if(account != null) {
+//                        balance = account.getBalance();
+//                    }
+//                }
+//            }
+//        }
+//        return balance;
+        
+        return null;
+    }
+
+    /*
+     * Same as getBalance, but on primitives and without an Optional per step,
+     * for hot paths where the garbage matters more than the elegance
+     */
+    public double getBalanceAsDouble(final long customerId) {
+        final Customer customer = database.getCustomer(customerId);
+        if (customer == null) {
+            return 0.0;
+        }
+        final String accountNumber = customer.getAccountNumber();
+        if (accountNumber == null) {
+            return 0.0;
+        }
+        final Account account = accountService.getAccount(accountNumber);
+        if (account == null) {
+            return 0.0;
+        }
+        final Double balance = account.getBalance();
+        return balance == null ? 0.0 : balance;
+    }
+
+    /*
+     * Same as getBalance, but for many customers at once: one batch lookup in the database,
+     * and one in the account service, instead of two lookups per customer
+     *
+     * @param customerIds null ids are skipped
+     * @return the balance of each customer id, 0.0 where getBalance would have said 0.0
+     */
+    public Map<Integer, Double> getBalances(final Collection<Integer> customerIds) {
+        final List<Long> ids = customerIds.stream()
+                                          .filter(Objects::nonNull)
+                                          .map(Integer::longValue)
+                                          .distinct()
+                                          .collect(toList());
+        final Map<Long, Customer> customers = database.getCustomers(ids);
+        // getAccountNumber may be a lookup of its own, so ask each customer only once
+        final Map<Long, String> accountNumbers = new HashMap<>();
+        customers.forEach((id, customer) -> {
+            final String accountNumber = customer == null ? null : customer.getAccountNumber();
+            if (accountNumber != null) {
+                accountNumbers.put(id, accountNumber);
+            }
+        });
+        final Map<String, Account> accounts = accountNumbers.isEmpty()
+                ? Collections.emptyMap()
+                : accountService.getAccounts(new HashSet<>(accountNumbers.values()));
+
+        final Map<Integer, Double> balances = new LinkedHashMap<>();
+        for (Long id : ids) {
+            final Double balance = Optional.ofNullable(accountNumbers.get(id))
+                                           .map(accounts::get)
+                                           .map(Account::getBalance)
+                                           .orElse(0.0);
+            balances.put(id.intValue(), balance);
+        }
+        return balances;
+    }
+
+    /*
+     * Find the first customer in the list whose account number starts with "NO" and return that account number.
+     * If no account is matching, return an empty String.
+     *
+     * Hint: for each customer (List#stream()), check if the account number starts with "NO" (Stream#filter(Predicate))
+     *       and then find the first of them (Stream#findFirst()) which you will transform into its account number
+     *       (Optional#map(Function)) or return an empty String (Optional#orElse(T)).
+     *
+     * @param customers can be empty
+     * @return first customer account number starting with "NO" or an empty String
+     */
+    public String getFirstCustomerAccountNumberStartingWithNO(final List<Customer> customers) {
+        return null;
+    }
+
+    /*
+     * Same as above, but for very long lists: the search runs in parallel, and still gives the first match in list order.
+     * Each customer's getAccountNumber() is called at most once, and the customers after a match stop being
+     * looked at as soon as it is found.
+     */
+    public String getFirstCustomerAccountNumberStartingWithNOInParallel(final List<Customer> customers) {
+        return getFirstCustomerAccountNumberStartingWithNOInParallel(customers, ForkJoinPool.commonPool());
+    }
+
+    public String getFirstCustomerAccountNumberStartingWithNOInParallel(final List<Customer> customers, final ForkJoinPool pool) {
+        return FirstMatchSearch.findFirst(customers, Customer::getAccountNumber,
+                                          (String number) -> number != null && number.startsWith("NO"), pool)
+                               .orElse("");
+    }
+
+}
@@ -0,0 +1,277 @@
+package no.finntech.workshop;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Walks a file tree with one fork/join task per directory, and streams what it finds as it goes.
+ *
+ * The attributes of every entry are read once, together, while walking, and handed out with the path,
+ * so nobody has to stat the file again later. Directories the descend predicate says no to are not
+ * opened at all. The walkers wait when the consumer falls behind, so at most queueCapacity entries
+ * are ever held in memory. Symbolic links are reported but not followed.
+ *
+ * A directory below the root that can't be read, or an entry that is gone by the time it is looked at,
+ * is skipped and reported to onUnreadable; the rest of the walk goes on. Only a root that can't be
+ * read fails the stream.
+ *
+ * Entries come in no particular order. Close the stream to stop the walk early. A stream that is
+ * neither read nor closed for handOffTimeout stops the walk too, so abandoned walks don't hold on
+ * to pool threads; reading it after that throws.
+ */
+final class ParallelFileWalker {
+
+    static final class Entry {
+        private final Path path;
+        private final BasicFileAttributes attributes;
+
+        Entry(Path path, BasicFileAttributes attributes) {
+            this.path = path;
+            this.attributes = attributes;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        BasicFileAttributes attributes() {
+            return attributes;
+        }
+    }
+
+    private static final Entry END = new Entry(null, null);
+
+    private final ForkJoinPool pool;
+
+    private final int queueCapacity;
+
+    private final long handOffTimeoutNanos;
+
+    ParallelFileWalker(ForkJoinPool pool, int queueCapacity, long handOffTimeout, TimeUnit unit) {
+        this.pool = pool;
+        this.queueCapacity = queueCapacity;
+        this.handOffTimeoutNanos = unit.toNanos(handOffTimeout);
+    }
+
+    ParallelFileWalker(ForkJoinPool pool, int queueCapacity) {
+        this(pool, queueCapacity, 1, TimeUnit.MINUTES);
+    }
+
+    ParallelFileWalker() {
+        this(ForkJoinPool.commonPool(), 1024);
+    }
+
+    /*
+     * What can't be read is reported to the uncaught exception handler of the walking thread
+     */
+    Stream<Entry> walk(Path root, BiPredicate<Path, BasicFileAttributes> descend,
+                       BiPredicate<Path, BasicFileAttributes> include) {
+        return walk(root, descend, include, (path, e) ->
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), new UncheckedIOException(e)));
+    }
+
+    /*
+     * @param descend whether to walk into a directory
+     * @param include whether to hand out an entry
+     * @param onUnreadable told about every path below the root that was skipped, and why; called from the walking threads
+     */
+    Stream<Entry> walk(Path root, BiPredicate<Path, BasicFileAttributes> descend,
+                       BiPredicate<Path, BasicFileAttributes> include, BiConsumer<Path, IOException> onUnreadable) {
+        Walk walk = new Walk(descend, include, onUnreadable);
+        pool.execute(() -> {
+            try {
+                walk.visit(root);
+            } catch (RuntimeException e) {
+                walk.failed(e);
+            } finally {
+                walk.finish();
+            }
+        });
+        return StreamSupport.stream(walk, false).onClose(walk::cancel);
+    }
+
+    private final class Walk extends Spliterators.AbstractSpliterator<Entry> {
+        private final BiPredicate<Path, BasicFileAttributes> descend;
+        private final BiPredicate<Path, BasicFileAttributes> include;
+        private final BiConsumer<Path, IOException> onUnreadable;
+        private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+        private boolean done;
+
+        Walk(BiPredicate<Path, BasicFileAttributes> descend, BiPredicate<Path, BasicFileAttributes> include,
+             BiConsumer<Path, IOException> onUnreadable) {
+            super(Long.MAX_VALUE, Spliterator.NONNULL | Spliterator.DISTINCT);
+            this.descend = descend;
+            this.include = include;
+            this.onUnreadable = onUnreadable;
+        }
+
+        void visit(Path root) {
+            BasicFileAttributes attributes;
+            try {
+                attributes = readAttributes(root);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (include.test(root, attributes)) {
+                put(new Entry(root, attributes));
+            }
+            if (attributes.isDirectory() && descend.test(root, attributes)) {
+                new DirectoryTask(root, true).invoke();
+            }
+        }
+
+        private BasicFileAttributes readAttributes(Path path) throws IOException {
+            return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        }
+
+        private final class DirectoryTask extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final Path directory;
+            private final boolean root;
+
+            DirectoryTask(Path directory, boolean root) {
+                this.directory = directory;
+                this.root = root;
+            }
+
+            @Override
+            protected void compute() {
+                List<DirectoryTask> subdirectories = new ArrayList<>();
+                try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                    for (Path child : children) {
+                        if (cancelled) {
+                            return;
+                        }
+                        BasicFileAttributes attributes;
+                        try {
+                            attributes = readAttributes(child);
+                        } catch (IOException e) {
+                            onUnreadable.accept(child, e);
+                            continue;
+                        }
+                        if (include.test(child, attributes)) {
+                            put(new Entry(child, attributes));
+                        }
+                        if (attributes.isDirectory() && descend.test(child, attributes)) {
+                            DirectoryTask task = new DirectoryTask(child, false);
+                            task.fork();
+                            subdirectories.add(task);
+                        }
+                    }
+                } catch (IOException | DirectoryIteratorException e) {
+                    IOException cause = e instanceof DirectoryIteratorException ? ((DirectoryIteratorException) e).getCause() : (IOException) e;
+                    if (root) {
+                        throw new UncheckedIOException(cause);
+                    }
+                    onUnreadable.accept(directory, cause);
+                }
+                for (DirectoryTask task : subdirectories) {
+                    task.join();
+                }
+            }
+        }
+
+        private void put(Entry entry) {
+            long deadline = System.nanoTime() + handOffTimeoutNanos;
+            try {
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                    private boolean queued;
+
+                    @Override
+                    public boolean block() throws InterruptedException {
+                        while (!queued && !cancelled) {
+                            long left = deadline - System.nanoTime();
+                            if (left <= 0) {
+                                failed(new IllegalStateException("Nobody took the next entry in "
+                                        + TimeUnit.NANOSECONDS.toMillis(handOffTimeoutNanos) + " ms, gave up walking"));
+                                break;
+                            }
+                            queued = queue.offer(entry, Math.min(left, TimeUnit.MILLISECONDS.toNanos(100)), TimeUnit.NANOSECONDS);
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public boolean isReleasable() {
+                        return queued || cancelled || (queued = queue.offer(entry));
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+            }
+        }
+
+        void failed(RuntimeException e) {
+            failure.compareAndSet(null, e);
+            cancelled = true;
+        }
+
+        void finish() {
+            if (failure.get() == null) {
+                put(END);
+            }
+            // not else: handing over END may time out too
+            if (failure.get() != null) {
+                // the walkers have been told to stop, make room for END among whatever they left behind
+                while (!queue.offer(END)) {
+                    queue.poll();
+                }
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry> action) {
+            if (done) {
+                return false;
+            }
+            Entry entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while walking", e);
+            }
+            if (entry == END) {
+                done = true;
+                RuntimeException e = failure.get();
+                if (e != null) {
+                    throw e;
+                }
+                return false;
+            }
+            action.accept(entry);
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package no.finntech.workshop;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/*
+ * Walks a random access list of Optional<Integer> by index, and hands out the present values as ints.
+ *
+ * It splits in halves by index in constant time. It can't claim SIZED, since how many of the
+ * Optionals are present isn't known before they are looked at; the size of the remaining
+ * index range is given as the estimate instead.
+ */
+final class PresentIntSpliterator implements Spliterator.OfInt {
+
+    private final List<Optional<Integer>> list;
+    private int index;
+    private final int fence;
+
+    PresentIntSpliterator(List<Optional<Integer>> list) {
+        this(list, 0, list.size());
+    }
+
+    private PresentIntSpliterator(List<Optional<Integer>> list, int origin, int fence) {
+        this.list = list;
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        while (index < fence) {
+            Optional<Integer> optional = list.get(index++);
+            if (optional.isPresent()) {
+                action.accept(optional.get());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        int i = index;
+        index = fence;
+        for (; i < fence; i++) {
+            Optional<Integer> optional = list.get(i);
+            if (optional.isPresent()) {
+                action.accept(optional.get());
+            }
+        }
+    }
+
+    @Override
+    public OfInt trySplit() {
+        int origin = index;
+        int middle = (origin + fence) >>> 1;
+        if (origin >= middle) {
+            return null;
+        }
+        index = middle;
+        return new PresentIntSpliterator(list, origin, middle);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+}
@@ -0,0 +1,146 @@
+package no.finntech.workshop;
+
+/*
+ * Segmented Sieve of Eratosthenes over the odd numbers.
+ *
+ * Bit k of the table says whether 2k + 1 is composite, so one long covers 128 numbers.
+ * The table grows lazily (at least doubling) the first time a number beyond it is asked for,
+ * sieving the new part in segments small enough to stay in the L2 cache.
+ * Lookups in an already sieved range are a single array read and never take a lock.
+ */
+final class PrimeSieve {
+
+    /*
+     * 2^18 bits = 32 KiB per segment, covering 2^19 numbers
+     */
+    private static final int SEGMENT_BITS = 1 << 18;
+
+    /*
+     * Large enough to hold every base prime up to sqrt(Integer.MAX_VALUE) = 46340
+     */
+    private static final int INITIAL_LIMIT = 1 << 16;
+
+    private static final long MAX_LIMIT = Integer.MAX_VALUE + 1L;
+
+    private static final class Table {
+        final long[] composite;
+        final long limit;
+
+        Table(long[] composite, long limit) {
+            this.composite = composite;
+            this.limit = limit;
+        }
+    }
+
+    private final int[] basePrimes;
+
+    private volatile Table table;
+
+    PrimeSieve() {
+        table = initialTable();
+        basePrimes = collectOddPrimes(table, 46341);
+    }
+
+    /*
+     * Is i a prime number? Numbers below 2 are not.
+     */
+    boolean isPrime(int i) {
+        if (i < 3) {
+            return i == 2;
+        }
+        if ((i & 1) == 0) {
+            return false;
+        }
+        Table t = table;
+        if (i >= t.limit) {
+            t = extendTo(i);
+        }
+        int bit = i >>> 1;
+        return (t.composite[bit >>> 6] & (1L << bit)) == 0;
+    }
+
+    /*
+     * Sieves up to and including i now, so that later lookups up to i never wait for the lock
+     */
+    void ensureSieved(int i) {
+        if (i >= table.limit) {
+            extendTo(i);
+        }
+    }
+
+    /*
+     * The numbers below this limit are sieved
+     */
+    long limit() {
+        return table.limit;
+    }
+
+    private synchronized Table extendTo(int i) {
+        Table old = table;
+        if (i < old.limit) {
+            return old;
+        }
+        long newLimit = Math.min(MAX_LIMIT, Math.max(i + 1L, old.limit * 2));
+        long oldBits = old.limit >>> 1;
+        long newBits = (newLimit + 1) >>> 1;
+        long[] composite = new long[(int) ((newBits + 63) >>> 6)];
+        System.arraycopy(old.composite, 0, composite, 0, old.composite.length);
+        for (long from = oldBits; from < newBits; from += SEGMENT_BITS) {
+            sieveSegment(composite, from, Math.min(from + SEGMENT_BITS, newBits));
+        }
+        Table extended = new Table(composite, newBits << 1);
+        table = extended;
+        return extended;
+    }
+
+    /*
+     * Cross off the odd composites whose bits lie in [fromBit, toBit)
+     */
+    private void sieveSegment(long[] composite, long fromBit, long toBit) {
+        long low = (fromBit << 1) + 1;
+        long high = (toBit << 1) + 1;
+        for (int p : basePrimes) {
+            long square = (long) p * p;
+            if (square >= high) {
+                break;
+            }
+            long m = Math.max(square, ((low + p - 1) / p) * p);
+            if ((m & 1) == 0) {
+                m += p;
+            }
+            for (long step = 2L * p; m < high; m += step) {
+                int bit = (int) (m >>> 1);
+                composite[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    private static Table initialTable() {
+        int bits = INITIAL_LIMIT >>> 1;
+        long[] composite = new long[bits >>> 6];
+        composite[0] |= 1L; // 1 is not a prime
+        for (int p = 3; p * p < INITIAL_LIMIT; p += 2) {
+            if ((composite[p >>> 7] & (1L << (p >>> 1))) == 0) {
+                for (int m = p * p; m < INITIAL_LIMIT; m += 2 * p) {
+                    composite[m >>> 7] |= 1L << (m >>> 1);
+                }
+            }
+        }
+        return new Table(composite, INITIAL_LIMIT);
+    }
+
+    private static int[] collectOddPrimes(Table t, int upTo) {
+        int[] primes = new int[upTo];
+        int count = 0;
+        for (int n = 3; n <= upTo; n += 2) {
+            int bit = n >>> 1;
+            if ((t.composite[bit >>> 6] & (1L << bit)) == 0) {
+                primes[count++] = n;
+            }
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(primes, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+}
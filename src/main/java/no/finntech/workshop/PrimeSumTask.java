@@ -0,0 +1,58 @@
+package no.finntech.workshop;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+
+/*
+ * Sums the primes in [from, to) by splitting the range in halves until the pieces are small,
+ * or until the worker already has enough queued work for the others to steal.
+ */
+final class PrimeSumTask extends RecursiveTask<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MIN_CHUNK = 1 << 12;
+
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final IntPredicate isPrime;
+
+    /*
+     * Aim for about eight chunks per worker, so that a worker stuck with the slow chunk can be helped
+     */
+    static PrimeSumTask forParallelism(int from, int to, int parallelism, IntPredicate isPrime) {
+        int threshold = Math.max(MIN_CHUNK, (int) ((to - (long) from) / (8L * Math.max(1, parallelism))));
+        return new PrimeSumTask(from, to, threshold, isPrime);
+    }
+
+    private PrimeSumTask(int from, int to, int threshold, IntPredicate isPrime) {
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.isPrime = isPrime;
+    }
+
+    @Override
+    protected Long compute() {
+        if (to - (long) from <= threshold || getSurplusQueuedTaskCount() > 3) {
+            return sumSequentially();
+        }
+        int middle = (int) ((from + (long) to) >>> 1);
+        PrimeSumTask right = new PrimeSumTask(middle, to, threshold, isPrime);
+        right.fork();
+        long left = new PrimeSumTask(from, middle, threshold, isPrime).compute();
+        return left + right.join();
+    }
+
+    private long sumSequentially() {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            if (isPrime.test(i)) {
+                sum += i;
+            }
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,55 @@
+package no.finntech.workshop;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Keeps a latency histogram per operation and counters for elements and primes,
+ * until someone asks for them to be published to a MetricsSink.
+ */
+final class RecordingInstrumentation implements Instrumentation {
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final LongAdder elementsProcessed = new LongAdder();
+    private final LongAdder primesFound = new LongAdder();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordNanos(String operation, long nanos) {
+        latencies.computeIfAbsent(operation, o -> new LatencyHistogram()).record(nanos);
+    }
+
+    @Override
+    public void elementsProcessed(long count) {
+        elementsProcessed.add(count);
+    }
+
+    @Override
+    public void primesFound(long count) {
+        primesFound.add(count);
+    }
+
+    LatencyHistogram latency(String operation) {
+        return latencies.getOrDefault(operation, new LatencyHistogram());
+    }
+
+    long elementsProcessed() {
+        return elementsProcessed.sum();
+    }
+
+    long primesFound() {
+        return primesFound.sum();
+    }
+
+    void publishTo(MetricsSink sink) {
+        latencies.forEach(sink::latency);
+        sink.counter("elementsProcessed", elementsProcessed());
+        sink.counter("primesFound", primesFound());
+    }
+
+}
@@ -0,0 +1,151 @@
+package no.finntech.workshop;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collector;
+
+/*
+ * A concatenation of strings that hasn't happened yet.
+ *
+ * Collecting into a Rope only keeps references to the pieces, and joining two Ropes (when a parallel
+ * stream merges its partial results) just links them together. Making the String then copies the
+ * characters into a buffer of exactly the right size that never has to grow, and once more into the
+ * String itself (which no String-building API avoids). writeTo copies them straight into the channel
+ * in chunks, without ever making a String at all.
+ */
+final class Rope {
+
+    private static final int ENCODE_CHUNK = 8192;
+
+    private static final class Segment {
+        final List<CharSequence> pieces = new ArrayList<>();
+        Segment next;
+    }
+
+    private Segment first = new Segment();
+    private Segment last = first;
+    private long length;
+
+    static Collector<CharSequence, ?, Rope> collector() {
+        return Collector.of(Rope::new, Rope::append, Rope::append);
+    }
+
+    /*
+     * The same as Collectors.joining(), but with no regrowing while collecting, and no copying when merging
+     */
+    static Collector<CharSequence, ?, String> joining() {
+        return Collector.of(Rope::new, Rope::append, Rope::append, Rope::toString);
+    }
+
+    Rope append(final CharSequence piece) {
+        last.pieces.add(piece);
+        length += piece.length();
+        return this;
+    }
+
+    /*
+     * Takes over the pieces of the other rope, which should not be used afterwards
+     */
+    Rope append(final Rope other) {
+        last.next = other.first;
+        last = other.last;
+        length += other.length;
+        return this;
+    }
+
+    long length() {
+        return length;
+    }
+
+    /*
+     * @throws IllegalStateException when the rope is too long to fit in a String, use writeTo instead
+     */
+    @Override
+    public String toString() {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("A rope of " + length + " chars is too long for a String");
+        }
+        final StringBuilder sb = new StringBuilder((int) length);
+        for (Segment segment = first; segment != null; segment = segment.next) {
+            for (CharSequence piece : segment.pieces) {
+                sb.append(piece);
+            }
+        }
+        return sb.toString();
+    }
+
+    /*
+     * Encodes the pieces one chunk at a time and writes them to the channel
+     *
+     * @return the number of bytes written
+     */
+    long writeTo(final WritableByteChannel channel, final Charset charset) throws IOException {
+        final CharsetEncoder encoder = charset.newEncoder()
+                                              .onMalformedInput(CodingErrorAction.REPLACE)
+                                              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final CharBuffer chars = CharBuffer.allocate(ENCODE_CHUNK);
+        final ByteBuffer bytes = ByteBuffer.allocate((int) (ENCODE_CHUNK * encoder.maxBytesPerChar()) + 16);
+        long written = 0;
+        for (Segment segment = first; segment != null; segment = segment.next) {
+            for (CharSequence piece : segment.pieces) {
+                int from = 0;
+                while (from < piece.length()) {
+                    final int count = Math.min(chars.remaining(), piece.length() - from);
+                    if (piece instanceof String) {
+                        ((String) piece).getChars(from, from + count, chars.array(), chars.arrayOffset() + chars.position());
+                        chars.position(chars.position() + count);
+                    } else {
+                        for (int i = 0; i < count; i++) {
+                            chars.put(piece.charAt(from + i));
+                        }
+                    }
+                    from += count;
+                    if (!chars.hasRemaining()) {
+                        written += encode(encoder, chars, bytes, channel, false);
+                    }
+                }
+            }
+        }
+        written += encode(encoder, chars, bytes, channel, true);
+        bytes.clear();
+        check(encoder.flush(bytes));
+        bytes.flip();
+        written += drain(bytes, channel);
+        return written;
+    }
+
+    private static long encode(final CharsetEncoder encoder, final CharBuffer chars, final ByteBuffer bytes,
+                               final WritableByteChannel channel, final boolean endOfInput) throws IOException {
+        chars.flip();
+        bytes.clear();
+        check(encoder.encode(chars, bytes, endOfInput));
+        // a high surrogate at the end of the chunk stays behind until its low surrogate arrives
+        chars.compact();
+        bytes.flip();
+        return drain(bytes, channel);
+    }
+
+    private static long drain(final ByteBuffer bytes, final WritableByteChannel channel) throws IOException {
+        long written = 0;
+        while (bytes.hasRemaining()) {
+            written += channel.write(bytes);
+        }
+        return written;
+    }
+
+    private static void check(final CoderResult result) throws CharacterCodingException {
+        if (result.isError()) {
+            result.throwException();
+        }
+    }
+
+}
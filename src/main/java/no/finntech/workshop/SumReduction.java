@@ -0,0 +1,148 @@
+package no.finntech.workshop;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/*
+ * Sums without boxing, in three flavours: wide, exact and compensated.
+ *
+ * Primitive streams already reduce as a tree: each piece of a parallel stream sums into its own
+ * accumulator and the pieces are added up pairwise, so there is nothing shared to contend on
+ * (which is what striping like LongAdder would buy for a shared counter).
+ *
+ * The order of those pairwise additions follows how the stream happened to split, so for doubles only
+ * sumCompensated(double[], ForkJoinPool) promises the same result whatever the parallelism.
+ */
+final class SumReduction {
+
+    /*
+     * Pieces of the array are at least this long before they are summed directly
+     */
+    private static final int BLOCK = 1 << 12;
+
+    private SumReduction() {
+    }
+
+    /*
+     * The sum of ints as a long, which can't overflow for less than 2^32 of them
+     */
+    static long sum(IntStream ints) {
+        return ints.asLongStream().sum();
+    }
+
+    /*
+     * Partial sums may overflow on the way, in whatever order the stream adds up its pieces,
+     * as long as the total fits.
+     *
+     * @throws ArithmeticException instead of wrapping around when the sum doesn't fit in a long
+     */
+    static long sumExact(LongStream longs) {
+        return longs.collect(ExactSum::new, ExactSum::add, ExactSum::addAll).value();
+    }
+
+    /*
+     * Neumaier's compensated sum: the low bits lost in each addition are summed on the side,
+     * so the error doesn't grow with the number of values, even when a big value cancels out a small one.
+     */
+    static double sumCompensated(DoubleStream doubles) {
+        return doubles.collect(CompensatedSum::new, CompensatedSum::add, CompensatedSum::addAll).value();
+    }
+
+    /*
+     * Same as above, and the same to the last bit whatever the parallelism of the pool:
+     * the array is cut into pieces and added up in an order that only depends on its length.
+     */
+    static double sumCompensated(double[] values, ForkJoinPool pool) {
+        return pool.invoke(new CompensatedSumTask(values, 0, values.length)).value();
+    }
+
+    /*
+     * A 128 bit sum: the long that wraps around, and how many times it wrapped around, up or down
+     */
+    static final class ExactSum {
+        private long low;
+        private long high;
+
+        void add(long value) {
+            long sum = low + value;
+            // both the same sign, and a sum of the other sign
+            if (((low ^ sum) & (value ^ sum)) < 0) {
+                high += value < 0 ? -1 : 1;
+            }
+            low = sum;
+        }
+
+        void addAll(ExactSum other) {
+            add(other.low);
+            high += other.high;
+        }
+
+        long value() {
+            if (high != 0) {
+                throw new ArithmeticException("long overflow");
+            }
+            return low;
+        }
+    }
+
+    static final class CompensatedSum {
+        private double sum;
+        private double compensation;
+
+        void add(double value) {
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+
+        void addAll(CompensatedSum other) {
+            add(other.sum);
+            add(other.compensation);
+        }
+
+        double value() {
+            double value = sum + compensation;
+            // inf + -inf in the compensation would turn an infinite sum into NaN
+            return Double.isNaN(value) && Double.isInfinite(sum) ? sum : value;
+        }
+    }
+
+    private static final class CompensatedSumTask extends RecursiveTask<CompensatedSum> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] values;
+        private final int from;
+        private final int to;
+
+        CompensatedSumTask(double[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CompensatedSum compute() {
+            if (to - from <= BLOCK) {
+                CompensatedSum sum = new CompensatedSum();
+                for (int i = from; i < to; i++) {
+                    sum.add(values[i]);
+                }
+                return sum;
+            }
+            int middle = (from + to) >>> 1;
+            CompensatedSumTask right = new CompensatedSumTask(values, middle, to);
+            right.fork();
+            CompensatedSum left = new CompensatedSumTask(values, from, middle).compute();
+            left.addAll(right.join());
+            return left;
+        }
+    }
+
+}
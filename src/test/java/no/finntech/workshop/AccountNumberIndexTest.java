@@ -0,0 +1,111 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class AccountNumberIndexTest {
+
+    private AccountNumberIndex index = new AccountNumberIndex();
+
+    private static OptionalProblems.Customer customer(String accountNumber) {
+        return () -> accountNumber;
+    }
+
+    private static List<String> numbers(List<OptionalProblems.Customer> customers) {
+        return customers.stream().map(OptionalProblems.Customer::getAccountNumber).collect(toList());
+    }
+
+    @Test
+    public void should_find_the_first_added_customer_with_a_prefix() {
+        OptionalProblems.Customer first = customer("NO123456");
+        index.addAll(Arrays.asList(customer("FR123456"), customer(null), first, customer("NO098765")));
+        assertThat(index.firstMatch("NO"), is(Optional.of(first)));
+        assertThat(index.firstMatch("SE"), is(Optional.<OptionalProblems.Customer>empty()));
+    }
+
+    @Test
+    public void should_count_and_list_matches_in_account_number_order() {
+        index.addAll(Arrays.asList(customer("NO3"), customer("FR1"), customer("NO1"), customer("NL1"), customer("NO2")));
+        assertThat(index.count("NO"), is(3));
+        assertThat(index.count("N"), is(4));
+        assertThat(numbers(index.allMatches("NO")), is(Arrays.asList("NO1", "NO2", "NO3")));
+    }
+
+    @Test
+    public void should_answer_the_same_after_merging_added_customers() {
+        List<OptionalProblems.Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            customers.add(customer((i % 3 == 0 ? "NO" : "FR") + (20000 - i)));
+        }
+        index.addAll(customers);
+        index.add(customer("NO0"));
+
+        assertThat(index.size(), is(20001));
+        assertThat(index.count("NO"), is(6668));
+        assertThat(index.firstMatch("NO").map(OptionalProblems.Customer::getAccountNumber), is(Optional.of("NO20000")));
+        assertThat(index.firstMatch("FR1").map(OptionalProblems.Customer::getAccountNumber), is(Optional.of("FR19999")));
+        assertThat(numbers(index.allMatches("NO1999")), is(Arrays.asList("NO19991", "NO19994", "NO19997")));
+    }
+
+    @Test
+    public void should_forget_removed_customers() {
+        OptionalProblems.Customer first = customer("NO1");
+        OptionalProblems.Customer second = customer("NO2");
+        index.addAll(Arrays.asList(first, customer("FR1"), second));
+
+        assertThat(index.remove(first), is(true));
+        assertThat(index.remove(first), is(false));
+        assertThat(index.size(), is(2));
+        assertThat(index.count("NO"), is(1));
+        assertThat(index.firstMatch("NO"), is(Optional.of(second)));
+    }
+
+    @Test
+    public void should_keep_the_place_of_an_updated_customer() {
+        String[] accountNumber = {"FR1"};
+        OptionalProblems.Customer moving = () -> accountNumber[0];
+        index.addAll(Arrays.asList(moving, customer("NO2")));
+
+        accountNumber[0] = "NO1";
+        index.update(moving, "FR1");
+
+        assertThat(index.count("FR"), is(0));
+        assertThat(index.firstMatch("NO"), is(Optional.of(moving)));
+        assertThat(numbers(index.allMatches("NO")), is(Arrays.asList("NO1", "NO2")));
+    }
+
+    @Test
+    public void should_answer_like_a_scan_while_customers_come_and_go() {
+        Random random = new Random(42);
+        List<OptionalProblems.Customer> added = new ArrayList<>();
+        for (int i = 0; i < 30000; i++) {
+            if (!added.isEmpty() && random.nextInt(3) == 0) {
+                index.remove(added.remove(random.nextInt(added.size())));
+            } else {
+                OptionalProblems.Customer customer = customer((random.nextBoolean() ? "NO" : "FR") + random.nextInt(1000));
+                index.add(customer);
+                added.add(customer);
+            }
+            if (i % 1000 == 0) {
+                assertThat(index.size(), is(added.size()));
+                for (String prefix : Arrays.asList("NO", "FR1", "NO99")) {
+                    List<OptionalProblems.Customer> matching = added.stream()
+                                                                    .filter(c -> c.getAccountNumber().startsWith(prefix))
+                                                                    .collect(toList());
+                    assertThat(index.count(prefix), is(matching.size()));
+                    assertThat(index.firstMatch(prefix), is(matching.stream().findFirst()));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncBalanceLookupTest {
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+    private final OptionalProblems.Database database = id -> id == 42 ? () -> "NO255415684" : null;
+
+    private final OptionalProblems.AccountService accountService = number -> () -> 250000.0;
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private AsyncBalanceLookup lookup(AsyncBalanceLookup.AsyncDatabase asyncDatabase, int maxInFlight) {
+        return new AsyncBalanceLookup(asyncDatabase, AsyncBalanceLookup.AsyncAccountService.blocking(accountService, executor),
+                executor, 1, TimeUnit.SECONDS, maxInFlight);
+    }
+
+    @Test
+    public void should_find_the_balance_of_an_existing_customer() throws Exception {
+        AsyncBalanceLookup lookup = lookup(AsyncBalanceLookup.AsyncDatabase.blocking(database, executor), 10);
+        assertThat(lookup.getBalance(42).get(), is(Optional.of(250000.0)));
+    }
+
+    @Test
+    public void should_be_empty_for_missing_and_null_customers() throws Exception {
+        AsyncBalanceLookup lookup = lookup(AsyncBalanceLookup.AsyncDatabase.blocking(database, executor), 10);
+        assertThat(lookup.getBalance(7).get(), is(Optional.<Double>empty()));
+        assertThat(lookup.getBalance(null).get(), is(Optional.<Double>empty()));
+    }
+
+    @Test
+    public void should_fail_a_stage_that_takes_too_long() throws Exception {
+        AsyncBalanceLookup lookup = new AsyncBalanceLookup(id -> new CompletableFuture<>(),
+                AsyncBalanceLookup.AsyncAccountService.blocking(accountService, executor),
+                executor, 50, TimeUnit.MILLISECONDS, 10);
+        try {
+            lookup.getBalance(42).get();
+            fail("expected a timeout");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void should_queue_lookups_beyond_the_concurrency_limit() throws Exception {
+        List<CompletableFuture<Optional<OptionalProblems.Customer>>> started = new ArrayList<>();
+        AsyncBalanceLookup lookup = lookup(id -> {
+            CompletableFuture<Optional<OptionalProblems.Customer>> customer = new CompletableFuture<>();
+            started.add(customer);
+            return customer;
+        }, 2);
+
+        List<CompletableFuture<Optional<Double>>> balances = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            balances.add(lookup.getBalance(42));
+        }
+        assertThat(started.size(), is(2));
+
+        started.get(0).complete(Optional.empty());
+        assertThat(started.size(), is(3));
+
+        for (int i = 1; i < 5; i++) {
+            started.get(i).complete(Optional.empty());
+        }
+        for (CompletableFuture<Optional<Double>> balance : balances) {
+            assertThat(balance.get(), is(Optional.<Double>empty()));
+        }
+    }
+
+}
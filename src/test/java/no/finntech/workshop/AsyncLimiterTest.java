@@ -0,0 +1,45 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class AsyncLimiterTest {
+
+    @Test
+    public void should_run_a_long_queue_of_tasks_that_complete_right_away() throws Exception {
+        AsyncLimiter limiter = new AsyncLimiter(1);
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        limiter.submit(() -> first);
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            int value = i;
+            queued.add(limiter.submit(() -> CompletableFuture.completedFuture(value)));
+        }
+        assertThat(limiter.queued(), is(100000));
+
+        first.complete(-1);
+
+        assertThat(CompletableFuture.allOf(queued.toArray(new CompletableFuture<?>[0])).isDone(), is(true));
+        assertThat(queued.get(99999).get(), is(99999));
+        assertThat(limiter.submit(() -> CompletableFuture.completedFuture(7)).get(1, TimeUnit.SECONDS), is(7));
+    }
+
+    @Test
+    public void should_keep_its_permit_count_when_a_task_throws_an_error() throws Exception {
+        AsyncLimiter limiter = new AsyncLimiter(1);
+        CompletableFuture<Object> failed = limiter.submit(() -> {
+            throw new AssertionError("boom");
+        });
+
+        assertThat(failed.isCompletedExceptionally(), is(true));
+        assertThat(limiter.submit(() -> CompletableFuture.completedFuture(7)).get(1, TimeUnit.SECONDS), is(7));
+    }
+
+}
@@ -0,0 +1,53 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class CachingAccountServiceTest {
+
+    private final List<Collection<String>> batches = new ArrayList<>();
+
+    private final OptionalProblems.AccountService accountService = new OptionalProblems.AccountService() {
+        @Override
+        public OptionalProblems.Account getAccount(final String accountNumber) {
+            throw new AssertionError("expected a batch lookup for " + accountNumber);
+        }
+
+        @Override
+        public Map<String, OptionalProblems.Account> getAccounts(final Collection<String> accountNumbers) {
+            batches.add(new ArrayList<>(accountNumbers));
+            final Map<String, OptionalProblems.Account> accounts = new HashMap<>();
+            for (String accountNumber : accountNumbers) {
+                if (accountNumber.startsWith("NO")) {
+                    accounts.put(accountNumber, () -> 100.0);
+                }
+            }
+            return accounts;
+        }
+    };
+
+    private final CachingAccountService cachingAccountService = new CachingAccountService(accountService, 100, 10, 1, TimeUnit.SECONDS);
+
+    @Test
+    public void should_forward_the_misses_of_a_batch_to_the_batch_lookup_without_null_numbers() {
+        final Map<String, OptionalProblems.Account> accounts = cachingAccountService.getAccounts(Arrays.asList("NO1", "FR1", null));
+
+        assertThat(accounts.keySet(), is(new HashSet<>(Arrays.asList("NO1"))));
+        assertThat(new HashSet<>(batches.get(0)), is(new HashSet<>(Arrays.asList("NO1", "FR1"))));
+
+        cachingAccountService.getAccounts(Arrays.asList("NO1", "FR1"));
+        assertThat(batches.size(), is(1));
+    }
+
+}
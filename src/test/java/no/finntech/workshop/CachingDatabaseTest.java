@@ -0,0 +1,57 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class CachingDatabaseTest {
+
+    private final List<Collection<Long>> batches = new ArrayList<>();
+
+    private final OptionalProblems.Database database = new OptionalProblems.Database() {
+        @Override
+        public OptionalProblems.Customer getCustomer(final long id) {
+            return getCustomers(Collections.singletonList(id)).get(id);
+        }
+
+        @Override
+        public Map<Long, OptionalProblems.Customer> getCustomers(final Collection<Long> ids) {
+            batches.add(new ArrayList<>(ids));
+            final Map<Long, OptionalProblems.Customer> customers = new HashMap<>();
+            for (Long id : ids) {
+                if (id > 0) {
+                    customers.put(id, () -> "NO" + id);
+                }
+            }
+            return customers;
+        }
+    };
+
+    private final CachingDatabase cachingDatabase = new CachingDatabase(database, 100, 10, 1, TimeUnit.SECONDS);
+
+    @Test
+    public void should_forward_the_misses_of_a_batch_to_the_batch_lookup() {
+        cachingDatabase.getCustomer(1);
+
+        final Map<Long, OptionalProblems.Customer> customers = cachingDatabase.getCustomers(Arrays.asList(1L, 2L, -3L));
+
+        assertThat(customers.keySet(), is(new HashSet<>(Arrays.asList(1L, 2L))));
+        assertThat(batches.size(), is(2));
+        assertThat(new HashSet<>(batches.get(1)), is(new HashSet<>(Arrays.asList(2L, -3L))));
+
+        cachingDatabase.getCustomers(Arrays.asList(1L, 2L, -3L));
+        assertThat(batches.size(), is(2));
+    }
+
+}
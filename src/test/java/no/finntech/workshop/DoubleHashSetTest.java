@@ -0,0 +1,74 @@
+package no.finntech.workshop;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.DoubleStream;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class DoubleHashSetTest {
+
+    @Test
+    public void should_behave_like_a_hash_set() {
+        Set<Double> expected = new HashSet<>();
+        DoubleHashSet set = new DoubleHashSet();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            double value = random.nextInt(50000) / 4.0 - 6000;
+            assertThat(set.add(value), is(expected.add(value)));
+        }
+        assertThat(set.size(), is(expected.size()));
+        assertThat(set.asSet(), is(expected));
+        assertFalse(set.contains(0.1));
+    }
+
+    @Test
+    public void should_treat_doubles_like_double_equals_does() {
+        DoubleHashSet set = new DoubleHashSet();
+        set.add(Double.NaN);
+        set.add(Double.longBitsToDouble(0x7ff8000000000001L));
+        set.add(0.0);
+        set.add(-0.0);
+        set.add(0.0);
+
+        assertThat(set.size(), is(3));
+        assertTrue(set.contains(Double.NaN));
+        assertTrue(set.contains(-0.0));
+        assertThat(set.asSet(), is(new HashSet<>(Arrays.asList(Double.NaN, 0.0, -0.0))));
+    }
+
+    @Test
+    public void should_drain_the_smaller_set_into_the_bigger_one() {
+        DoubleHashSet small = new DoubleHashSet();
+        small.add(1);
+        small.add(0);
+        DoubleHashSet big = new DoubleHashSet();
+        for (int i = 1; i <= 1000; i++) {
+            big.add(-i);
+        }
+
+        small.drain(big);
+
+        assertThat(small.size(), is(1002));
+        assertTrue(small.contains(-1000));
+        assertTrue(small.contains(0));
+        assertThat(big.size(), is(0));
+        assertFalse(big.contains(-1));
+    }
+
+    @Test
+    public void should_collect_doubles_in_parallel() {
+        DoubleHashSet set = new NeophyteProblems().collectDoubles(DoubleStream.iterate(0, d -> d + 0.5).limit(100000).map(d -> d % 1000).parallel());
+
+        assertThat(set.size(), is(2000));
+        assertTrue(set.contains(999.5));
+    }
+
+}
@@ -0,0 +1,119 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class HotKeyUpdaterTest {
+
+    private static final int THREADS = 8;
+
+    private static final int UPDATES = 20000;
+
+    @Test
+    public void should_compute_like_map_compute() {
+        ConcurrentMap<String, Integer> map = new ConcurrentHashMap<>();
+        HotKeyUpdater<String, Integer> updater = new HotKeyUpdater<>(map);
+
+        assertThat(updater.compute("a", (k, v) -> v == null ? 1 : v + 1), is(1));
+        assertThat(updater.compute("a", (k, v) -> v == null ? 1 : v + 1), is(2));
+        assertThat(updater.compute("b", (k, v) -> null), is((Integer) null));
+        assertFalse(map.containsKey("b"));
+        updater.compute("a", (k, v) -> null);
+        assertFalse(map.containsKey("a"));
+    }
+
+    @Test
+    public void should_not_lose_updates_to_a_hot_key() throws InterruptedException {
+        ConcurrentMap<Integer, Long> map = new ConcurrentHashMap<>();
+        HotKeyUpdater<Integer, Long> updater = new HotKeyUpdater<>(map);
+
+        runConcurrently(() -> updater.compute(1, (k, v) -> v == null ? 1 : v + 1));
+
+        assertThat(map.get(1), is((long) THREADS * UPDATES));
+    }
+
+    @Test
+    public void should_apply_all_batched_updates_to_a_hot_key() throws InterruptedException {
+        ConcurrentMap<Integer, Long> map = new ConcurrentHashMap<>();
+        HotKeyUpdater<Integer, Long> updater = new HotKeyUpdater<>(map);
+
+        runConcurrently(() -> updater.update(1, v -> v == null ? 1 : v + 1));
+
+        assertThat(map.get(1), is((long) THREADS * UPDATES));
+    }
+
+    @Test
+    public void should_forget_the_batches_of_keys_no_longer_updated() throws InterruptedException {
+        ConcurrentMap<Integer, Long> map = new ConcurrentHashMap<>();
+        HotKeyUpdater<Integer, Long> updater = new HotKeyUpdater<>(map);
+
+        runConcurrently(() -> updater.update(ThreadLocalRandom.current().nextInt(1000), v -> v == null ? 1 : v + 1));
+
+        assertThat(updater.batchedKeys(), is(0));
+        assertThat(map.values().stream().mapToLong(Long::longValue).sum(), is((long) THREADS * UPDATES));
+    }
+
+    @Test
+    public void should_skip_only_the_batched_update_that_throws() {
+        ConcurrentMap<Integer, Long> map = new ConcurrentHashMap<>();
+        List<RuntimeException> failures = new ArrayList<>();
+        HotKeyUpdater<Integer, Long> updater = new HotKeyUpdater<>(map, (key, e) -> failures.add(e));
+        IllegalStateException boom = new IllegalStateException("boom");
+
+        updater.update(1, v -> 1L);
+        updater.update(1, v -> {
+            throw boom;
+        });
+        updater.update(1, v -> v + 1);
+
+        assertThat(map.get(1), is(2L));
+        assertThat(failures, is(Collections.<RuntimeException>singletonList(boom)));
+    }
+
+    @Test
+    public void should_double_string_that_key_one_points_to_in_a_concurrent_map() {
+        ConcurrentMap<Integer, String> map = new ConcurrentHashMap<>();
+        map.put(1, "asdf");
+        map.put(2, "fdsa");
+        String newString = new NeophyteProblems().doubleStringThatkeyOnePointsToConcurrently(map);
+        assertThat(newString, is("asdfasdf"));
+        assertThat(map.get(1), is("asdfasdf"));
+        assertThat(map.get(2), is("fdsa"));
+    }
+
+    private static void runConcurrently(Runnable update) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < UPDATES; i++) {
+                    update.run();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package no.finntech.workshop;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedSequencesTest {
+
+    @Test
+    public void should_generate_an_arithmetic_sequence() {
+        List<Integer> values = IndexedSequences.arithmetic(5, 3, 5).boxed().collect(toList());
+        assertThat(values, is(Arrays.asList(5, 8, 11, 14, 17)));
+    }
+
+    @Test
+    public void should_split_in_halves_and_know_the_sizes() {
+        Spliterator.OfInt spliterator = IndexedSequences.ints(1000, i -> (int) i).spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+
+        Spliterator.OfInt prefix = spliterator.trySplit();
+
+        assertThat(prefix.getExactSizeIfKnown(), is(500L));
+        assertThat(spliterator.getExactSizeIfKnown(), is(500L));
+        int[] first = new int[1];
+        spliterator.tryAdvance((int i) -> first[0] = i);
+        assertThat(first[0], is(500));
+    }
+
+    @Test
+    public void should_give_the_same_in_parallel() {
+        long sequential = IndexedSequences.ints(1_000_000, i -> (int) (i % 7)).asLongStream().sum();
+        long parallel = IndexedSequences.ints(1_000_000, i -> (int) (i % 7)).parallel().asLongStream().sum();
+        assertThat(parallel, is(sequential));
+    }
+
+    @Test
+    public void should_compute_lazy_map_values_once_when_asked_for() {
+        AtomicInteger calls = new AtomicInteger();
+        Map<Integer, Integer> map = IndexedSequences.lazyMap(1, 1_000_000_000, i -> {
+            calls.incrementAndGet();
+            return i * 2;
+        });
+
+        assertThat(calls.get(), is(0));
+        assertThat(map.get(123456789), is(246913578));
+        assertThat(map.get(123456789), is(246913578));
+        assertThat(calls.get(), is(1));
+        assertTrue(map.containsKey(1_000_000_000));
+        assertFalse(map.containsKey(0));
+        assertThat(map.size(), is(1_000_000_000));
+    }
+
+    @Test
+    public void should_walk_lazy_map_entries_in_key_order() {
+        Map<Integer, Integer> map = IndexedSequences.lazyMap(1, 3, i -> i * i);
+        Map<Integer, Integer> expected = new HashMap<>();
+        IntStream.rangeClosed(1, 3).forEach(i -> expected.put(i, i * i));
+        assertThat(map, is(expected));
+        assertThat(map.keySet().stream().collect(toList()), is(Arrays.asList(1, 2, 3)));
+    }
+
+}
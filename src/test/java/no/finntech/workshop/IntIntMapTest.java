@@ -0,0 +1,57 @@
+package no.finntech.workshop;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class IntIntMapTest {
+
+    private IntIntMap map = new IntIntMap();
+
+    @Test
+    public void should_collect_a_contiguous_range_also_in_parallel() {
+        IntIntMap squares = IntIntMap.collect(IntStream.rangeClosed(1, 100000).parallel(), i -> i * i);
+        assertThat(squares.size(), is(100000));
+        assertThat(squares.get(1, -1), is(1));
+        assertThat(squares.get(300, -1), is(90000));
+        assertThat(squares.get(0, -1), is(-1));
+        assertThat(squares.get(100001, -1), is(-1));
+    }
+
+    @Test
+    public void should_behave_like_a_hash_map_for_scattered_keys() {
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(20000) - 10000;
+            int value = random.nextInt();
+            expected.put(key, value);
+            map.put(key, value);
+        }
+        assertThat(map.size(), is(expected.size()));
+        assertThat(map.asMap(), is(expected));
+        assertThat(map.get(0, 7), is(expected.getOrDefault(0, 7)));
+        assertFalse(map.containsKey(10000));
+    }
+
+    @Test
+    public void should_keep_entries_when_a_dense_map_gets_a_stray_key() {
+        map.put(1, 10);
+        map.put(2, 20);
+        map.put(3, 30);
+        map.put(100, 1000);
+        map.put(2, 22);
+        assertThat(map.size(), is(4));
+        assertThat(map.get(2, -1), is(22));
+        assertThat(map.get(100, -1), is(1000));
+        assertThat(map.asMap().get(3), is(30));
+    }
+
+}
@@ -1,5 +1,9 @@
+package no.finntech.workshop;
+
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.IntStream;
@@ -9,6 +13,7 @@ import org.junit.Test;
 
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 public class IntroProblemsTest {
@@ -81,6 +86,21 @@ public class IntroProblemsTest {
         assertThat(result, is(Arrays.asList("caT", "oh", "tuRtles", "")));
     }
 
+    @Test
+    public void should_upper_casify_all_strings_in_bulk() {
+        List<String> strings = Arrays.asList("awesome", "list", "of", "STRINGS", "stra\u00dfe", "");
+        List<String> result = introProblems.upperCasifyAllStringsInBulk(strings);
+        assertThat(result, is(Arrays.asList("AWESOME", "LIST", "OF", "STRINGS", "STRASSE", "")));
+        assertSame(strings.get(3), result.get(3));
+    }
+
+    @Test
+    public void should_upper_casify_third_char_in_bulk() {
+        List<String> strings = Arrays.asList("cat", "oh", "turtles", "", "fa\u00e7o", "doG");
+        List<String> result = introProblems.uppercasifyThirdCharacterOnAllStringsInBulk(strings);
+        assertThat(result, is(Arrays.asList("caT", "oh", "tuRtles", "", "fa\u00c7o", "doG")));
+    }
+
     @Test
     public void should_filter_out_strings_that_are_too_long() {
         List<String> strings = Arrays.asList("this", "is", "waytolong", "fine");
@@ -124,4 +144,59 @@ public class IntroProblemsTest {
         assertThat(stream.sum(), is(42));
     }
 
+    @Test
+    public void should_double_all_the_ints_fused() {
+        List<Integer> result = introProblems.doubleAllTheIntsFused(new LinkedList<>(Arrays.asList(1, 2, 3)));
+        assertThat(result, is(Arrays.asList(2, 4, 6)));
+    }
+
+    @Test
+    public void should_filter_lists_fused() {
+        assertThat(introProblems.removeLongStringsFused(Arrays.asList("this", "is", "waytolong", "fine")), is(Arrays.asList("this", "is", "fine")));
+        List<Double> doubles = Arrays.asList(1d, 2d, 3d, 4d, 5d, 17d, 30d);
+        assertThat(introProblems.customExcludeFromListFused(doubles, d -> d % 2 != 0), is(Arrays.asList(1d, 3d, 5d, 17d)));
+        assertThat(introProblems.keepAllWhereNotFused(doubles, d -> d % 2 == 0), is(Arrays.asList(1d, 3d, 5d, 17d)));
+    }
+
+    @Test
+    public void should_convert_stream_to_intstream_fused() {
+        assertThat(introProblems.convertAndDoubleValueFused(Arrays.asList(1, 2, 3, 4, 5, 6)).sum(), is(42));
+        assertThat(introProblems.convertAndDoubleValueFused(new LinkedList<>(Arrays.asList(1, 2, 3))).toArray(), is(new int[]{2, 4, 6}));
+    }
+
+    @Test
+    public void should_filter_lists_in_place() {
+        List<Double> doubles = new ArrayList<>(Arrays.asList(1d, 2d, 3d, 4d, 5d, 17d, 30d));
+        assertSame(doubles, introProblems.customExcludeFromListInPlace(doubles, d -> d % 2 != 0));
+        assertThat(doubles, is(Arrays.asList(1d, 3d, 5d, 17d)));
+
+        List<Integer> ints = new LinkedList<>(Arrays.asList(1, 2, 3, 4));
+        assertThat(introProblems.keepAllWhereNotInPlace(ints, i -> i % 2 == 0), is(Arrays.asList(1, 3)));
+    }
+
+    @Test
+    public void should_leave_the_list_alone_when_the_predicate_throws() {
+        List<String> strings = new ArrayList<>(Arrays.asList("a", "bb", null, "ccc"));
+        try {
+            introProblems.keepAllWhereNotInPlace(strings, s -> s.length() > 1);
+        } catch (NullPointerException expected) {
+            assertThat(strings, is(Arrays.asList("a", "bb", null, "ccc")));
+            return;
+        }
+        throw new AssertionError("expected the predicate to throw");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void should_refuse_to_filter_a_fixed_size_list_in_place() {
+        introProblems.customExcludeFromListInPlace(Arrays.asList(1d, 2d, 3d, 4d), d -> d % 2 != 0);
+    }
+
+    @Test
+    public void should_filter_doubles_in_an_array_in_place() {
+        double[] doubles = {1, 2, 3, 4, 5, 17, 30};
+        int kept = introProblems.customExcludeFromArrayInPlace(doubles, d -> d % 2 != 0);
+        assertThat(kept, is(4));
+        assertThat(Arrays.copyOf(doubles, kept), is(new double[]{1, 3, 5, 17}));
+    }
+
 }
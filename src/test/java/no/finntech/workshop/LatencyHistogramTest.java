@@ -0,0 +1,40 @@
+package no.finntech.workshop;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void should_report_zero_when_nothing_is_recorded() {
+        assertThat(histogram.count(), is(0L));
+        assertThat(histogram.percentile(99), is(0L));
+    }
+
+    @Test
+    public void should_report_small_values_exactly() {
+        for (long nanos = 1; nanos <= 10; nanos++) {
+            histogram.record(nanos);
+        }
+        assertThat(histogram.count(), is(10L));
+        assertThat(histogram.percentile(50), is(5L));
+        assertThat(histogram.percentile(100), is(10L));
+        assertThat(histogram.max(), is(10L));
+    }
+
+    @Test
+    public void should_report_large_values_within_a_few_percent() {
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        long p99 = histogram.percentile(99);
+        assertTrue("p99 was " + p99, Math.abs(p99 - 990000) <= 990000 * 0.04);
+        assertThat(histogram.percentile(100), is(1000000L));
+    }
+
+}
@@ -0,0 +1,188 @@
+package no.finntech.workshop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LookupCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final LookupCache<Integer, String> cache = new LookupCache<>(2, 10, 1, TimeUnit.SECONDS, now::get);
+
+    private String load(Integer key) {
+        loads.incrementAndGet();
+        return key < 0 ? null : "value" + key;
+    }
+
+    @Test
+    public void should_only_load_a_key_once_while_it_is_fresh() {
+        assertThat(cache.get(1, this::load), is("value1"));
+        assertThat(cache.get(1, this::load), is("value1"));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    public void should_cache_missing_values_for_the_negative_time_to_live() {
+        assertNull(cache.get(-1, this::load));
+        assertNull(cache.get(-1, this::load));
+        assertThat(loads.get(), is(1));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertNull(cache.get(-1, this::load));
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    public void should_reload_values_when_they_expire() {
+        cache.get(1, this::load);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        cache.get(1, this::load);
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    public void should_evict_the_least_recently_used_key() {
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(1, this::load);
+        cache.get(3, this::load);
+        assertThat(cache.size(), is(2));
+
+        cache.get(1, this::load);
+        assertThat(loads.get(), is(3));
+        cache.get(2, this::load);
+        assertThat(loads.get(), is(4));
+    }
+
+    @Test
+    public void should_load_only_the_misses_of_a_batch_in_one_call() {
+        cache.get(1, this::load);
+        List<Set<Integer>> batches = new ArrayList<>();
+
+        Map<Integer, String> found = cache.getAll(Arrays.asList(1, 2, -3, 2), keys -> {
+            batches.add(new HashSet<>(keys));
+            Map<Integer, String> loaded = new HashMap<>();
+            keys.forEach(key -> loaded.put(key, key < 0 ? null : "value" + key));
+            loaded.remove(-3);
+            return loaded;
+        });
+
+        assertThat(found, is(map(1, "value1", 2, "value2")));
+        assertThat(batches, is(Collections.singletonList(new HashSet<>(Arrays.asList(2, -3)))));
+        assertNull(cache.get(-3, this::load));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    public void should_keep_the_most_recently_used_keys_of_a_large_cache() {
+        LookupCache<Integer, String> large = new LookupCache<>(1000, 10, 1, TimeUnit.SECONDS, now::get);
+        for (int key = 0; key < 10000; key++) {
+            large.get(key, this::load);
+            // the first keys stay hot
+            large.get(key % 100, this::load);
+        }
+        assertTrue(large.size() <= 1000);
+        int loadsBefore = loads.get();
+        for (int key = 0; key < 100; key++) {
+            large.get(key, this::load);
+        }
+        assertThat(loads.get(), is(loadsBefore));
+    }
+
+    @Test
+    public void should_share_one_load_between_concurrent_misses() throws Exception {
+        int threads = 8;
+        CountDownLatch started = new CountDownLatch(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    return cache.get(7, key -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                        return load(key);
+                    });
+                }));
+            }
+            started.await();
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(), is("value7"));
+            }
+            assertThat(loads.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<Integer, String> map(Integer key1, String value1, Integer key2, String value2) {
+        Map<Integer, String> map = new HashMap<>();
+        map.put(key1, value1);
+        map.put(key2, value2);
+        return map;
+    }
+
+    @Test
+    public void should_fail_the_waiters_when_the_load_throws_an_error() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> loader = executor.submit(() -> cache.get(7, key -> {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                throw new AssertionError("boom");
+            }));
+            loading.await();
+            Future<String> waiter = executor.submit(() -> cache.get(7, this::load));
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : Arrays.asList(loader, waiter)) {
+                try {
+                    result.get(1, TimeUnit.SECONDS);
+                    fail("expected the AssertionError");
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof AssertionError);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package no.finntech.workshop;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class LookupExecutorsTest {
+
+    @Test
+    public void should_fan_out_on_platform_threads_and_keep_the_order() throws Exception {
+        ExecutorService executor = LookupExecutors.platformThreads(4);
+        try {
+            List<Integer> doubled = LookupExecutors.fanOut(Arrays.asList(1, 2, 3, 4, 5), i -> i * 2, executor);
+            assertThat(doubled, is(Arrays.asList(2, 4, 6, 8, 10)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_fan_out_on_virtual_threads_when_the_jdk_has_them() throws Exception {
+        Assume.assumeTrue(LookupExecutors.virtualThreadsAvailable());
+        ExecutorService executor = LookupExecutors.virtualThreadPerTask();
+        try {
+            List<Integer> doubled = LookupExecutors.fanOut(Arrays.asList(1, 2, 3), i -> i * 2, executor);
+            assertThat(doubled, is(Arrays.asList(2, 4, 6)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_rethrow_what_a_lookup_threw() throws Exception {
+        ExecutorService executor = LookupExecutors.platformThreads(1);
+        try {
+            LookupExecutors.fanOut(Arrays.asList("1", "x"), s -> {
+                if (!s.matches("\\d+")) {
+                    throw new IllegalArgumentException(s);
+                }
+                return s;
+            }, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = StackOverflowError.class)
+    public void should_rethrow_an_error_a_lookup_threw_unwrapped() throws Exception {
+        ExecutorService executor = LookupExecutors.platformThreads(1);
+        try {
+            LookupExecutors.fanOut(Arrays.asList(1, 2), i -> {
+                throw new StackOverflowError();
+            }, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
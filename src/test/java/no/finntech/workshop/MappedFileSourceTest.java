@@ -0,0 +1,125 @@
+package no.finntech.workshop;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class MappedFileSourceTest {
+
+    private final Path file;
+
+    public MappedFileSourceTest() throws IOException {
+        file = Files.createTempFile("mapped", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private void writeInts(int count) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            for (int i = 0; i < count; i++) {
+                out.writeInt(i);
+            }
+        }
+    }
+
+    @Test
+    public void should_stream_ints_from_a_file() throws IOException {
+        writeInts(300000);
+        try (IntStream ints = MappedFileSource.ints(file)) {
+            assertThat(ints.asLongStream().sum(), is(299999L * 300000L / 2));
+        }
+        try (IntStream ints = MappedFileSource.ints(file)) {
+            assertThat(ints.parallel().toArray(), is(IntStream.range(0, 300000).toArray()));
+        }
+    }
+
+    @Test
+    public void should_advance_one_int_at_a_time() throws IOException {
+        writeInts(1000);
+        try (IntStream ints = MappedFileSource.ints(file)) {
+            assertThat(ints.findFirst().getAsInt(), is(0));
+        }
+        try (IntStream ints = MappedFileSource.ints(file)) {
+            assertThat(ints.limit(3).toArray(), is(new int[]{0, 1, 2}));
+        }
+        try (IntStream ints = MappedFileSource.ints(file)) {
+            PrimitiveIterator.OfInt iterator = ints.iterator();
+            for (int i = 0; i < 1000; i++) {
+                assertThat(iterator.nextInt(), is(i));
+            }
+        }
+    }
+
+    @Test
+    public void should_sum_primes_from_a_file() throws IOException {
+        writeInts(10);
+        try (IntStream ints = MappedFileSource.ints(file)) {
+            assertThat(new NeophyteProblems().sumAllPrimeNumbers(ints), is(18L));
+        }
+    }
+
+    @Test
+    public void should_stream_doubles_from_a_file() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            for (int i = 0; i < 100000; i++) {
+                out.writeDouble(i / 2.0);
+            }
+        }
+        try (DoubleStream doubles = MappedFileSource.doubles(file)) {
+            assertThat(doubles.parallel().toArray(), is(IntStream.range(0, 100000).mapToDouble(i -> i / 2.0).toArray()));
+        }
+    }
+
+    @Test
+    public void should_advance_one_double_at_a_time() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeDouble(0.5);
+            out.writeDouble(1.5);
+        }
+        try (DoubleStream doubles = MappedFileSource.doubles(file)) {
+            PrimitiveIterator.OfDouble iterator = doubles.iterator();
+            assertThat(iterator.nextDouble(), is(0.5));
+            assertThat(iterator.nextDouble(), is(1.5));
+            assertThat(iterator.hasNext(), is(false));
+        }
+    }
+
+    @Test
+    public void should_stream_lines_from_a_file() throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write("first\r\n\nbl\u00e5\nlast".getBytes(StandardCharsets.UTF_8));
+        }
+        try (Stream<CharSequence> lines = MappedFileSource.lines(file, StandardCharsets.UTF_8)) {
+            assertThat(lines.map(CharSequence::toString).collect(toList()), is(Arrays.asList("first", "", "bl\u00e5", "last")));
+        }
+    }
+
+    @Test
+    public void should_stream_lines_in_parallel_in_order() throws IOException {
+        List<String> expected = IntStream.range(0, 200000).mapToObj(i -> "line " + i).collect(toList());
+        Files.write(file, expected, StandardCharsets.UTF_8);
+        try (Stream<CharSequence> lines = MappedFileSource.lines(file, StandardCharsets.UTF_8)) {
+            assertThat(lines.parallel().map(CharSequence::toString).collect(toList()), is(expected));
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+package no.finntech.workshop;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class NeophyteProblemsTest {
+
+    NeophyteProblems neophyteProblems = new NeophyteProblems();
+
+    @Test
+    public void should_sum_primes_in_a_list() {
+        IntStream range = IntStream.range(1, 10);
+        Integer result = neophyteProblems.sumAllPrimeNumbers(range.mapToObj(i -> i));
+        assertThat(result, is(18));
+    }
+
+    @Test
+    public void should_sum_primes_in_an_int_stream() {
+        long result = neophyteProblems.sumAllPrimeNumbers(IntStream.range(1, 10));
+        assertThat(result, is(18L));
+    }
+
+    @Test
+    public void should_sum_primes_in_an_int_array() {
+        long result = neophyteProblems.sumAllPrimeNumbers(IntStream.range(100000, 150000).toArray());
+        assertThat(result, is(531620910L));
+    }
+
+    @Test
+    public void should_not_overflow_when_summing_many_primes() {
+        long result = neophyteProblems.sumAllPrimeNumbers(IntStream.range(0, 2000000));
+        assertThat(result, is(142913828923L));
+    }
+
+    @Ignore
+    @Test
+    public void should_illustrate_sequentially_prime_search(){
+        int from = 100000;
+        int to =   150000;
+        RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        Integer result = new NeophyteProblems(instrumentation).sumPrimesOfVeryLargeListSequentially(IntStream.range(from, to).mapToObj(i -> i));
+        instrumentation.publishTo(MetricsSink.stdout());
+        assertThat(result, is(531620910));
+    }
+
+    @Ignore
+    @Test
+    public void should_illustrate_parallell_prime_search(){
+        int from = 100000;
+        int to =   150000;
+        RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        Integer result = new NeophyteProblems(instrumentation).sumPrimesOfVeryLargeListInParallell(IntStream.range(from, to).mapToObj(i -> i));
+        instrumentation.publishTo(MetricsSink.stdout());
+        assertThat(result, is(531620910));
+    }
+
+    @Test
+    public void should_record_latency_and_counts_when_instrumented() {
+        RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        long result = new NeophyteProblems(instrumentation).sumPrimesInRangeInParallell(1, 10);
+        assertThat(result, is(18L));
+        assertThat(instrumentation.latency("sumPrimesInRangeInParallell").count(), is(1L));
+        assertThat(instrumentation.elementsProcessed(), is(9L));
+        assertThat(instrumentation.primesFound(), is(5L));
+    }
+
+    @Test
+    public void should_count_primes_in_the_very_large_list_sums() {
+        RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        // the counting doesn't depend on how the assignment gets solved, as long as the stream is used up
+        NeophyteProblems instrumented = new NeophyteProblems(instrumentation) {
+            @Override
+            public Integer sumAllPrimeNumbers(Stream<Integer> ints) {
+                return ints.filter(this::isPrime).reduce(0, Integer::sum);
+            }
+        };
+
+        instrumented.sumPrimesOfVeryLargeListSequentially(IntStream.range(1, 10).boxed());
+        instrumented.sumPrimesOfVeryLargeListInParallell(IntStream.range(1, 10).boxed());
+
+        assertThat(instrumentation.latency("sumPrimesSequentially").count(), is(1L));
+        assertThat(instrumentation.latency("sumPrimesInParallell").count(), is(1L));
+        assertThat(instrumentation.elementsProcessed(), is(18L));
+        assertThat(instrumentation.primesFound(), is(10L));
+    }
+
+    @Test
+    public void should_count_the_same_whichever_sum_is_used() {
+        RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        NeophyteProblems instrumented = new NeophyteProblems(instrumentation);
+
+        instrumented.isPrime(7);
+        assertThat(instrumentation.primesFound(), is(0L));
+
+        assertThat(instrumented.sumAllPrimeNumbers(IntStream.range(1, 10).parallel()), is(18L));
+        assertThat(instrumented.sumAllPrimeNumbers(IntStream.range(1, 10).toArray()), is(18L));
+        assertThat(instrumentation.elementsProcessed(), is(18L));
+        assertThat(instrumentation.primesFound(), is(10L));
+    }
+
+    @Test
+    public void should_agree_with_trial_division_when_checking_primes() {
+        for (int i = 4; i < 200000; i++) {
+            final int n = i;
+            boolean expected = IntStream.rangeClosed(2, (int) Math.sqrt(n)).noneMatch(x -> n % x == 0);
+            assertThat("isPrime(" + n + ")", neophyteProblems.isPrime(n), is(expected));
+        }
+    }
+
+    @Test
+    public void should_sum_primes_in_a_range_in_parallell_on_a_given_pool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long result = neophyteProblems.sumPrimesInRangeInParallell(100000, 150000, pool);
+            assertThat(result, is(531620910L));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void should_sum_primes_in_an_empty_range_to_zero() {
+        assertThat(neophyteProblems.sumPrimesInRangeInParallell(10, 10), is(0L));
+    }
+
+    @Test
+    public void should_join_strings() {
+        List<String> strings = Arrays.asList("lucid", "streams", "are", "made", "of", "these");
+        String joined = neophyteProblems.concatenateAll(strings.stream());
+        assertThat(joined, is("lucidstreamsaremadeofthese"));
+    }
+
+    @Test
+    public void should_join_strings_at_once_also_in_parallell() {
+        List<String> strings = IntStream.range(0, 10000).mapToObj(Integer::toString).collect(toList());
+        String expected = String.join("", strings);
+        assertThat(neophyteProblems.concatenateAllAtOnce(strings.stream()), is(expected));
+        assertThat(neophyteProblems.concatenateAllAtOnce(strings.parallelStream()), is(expected));
+    }
+
+    @Test
+    public void should_join_strings_straight_into_a_channel() throws IOException {
+        String smiley = new String(Character.toChars(0x1F600));
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            strings.add("bl\u00e5b\u00e6r" + i);
+            strings.add(smiley.substring(0, 1));
+            strings.add(smiley.substring(1));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = neophyteProblems.concatenateAllTo(strings.parallelStream(), Channels.newChannel(out), StandardCharsets.UTF_8);
+        byte[] expected = String.join("", strings).getBytes(StandardCharsets.UTF_8);
+        assertThat(out.toByteArray(), is(expected));
+        assertThat(written, is((long) expected.length));
+    }
+
+    @Test
+    public void should_collect_doubles_to_a_set() {
+        Stream<Double> doubles = Arrays.asList(1d, 2d, 3d, 1d, 4d).stream();
+        Set<Double> set = neophyteProblems.collectDoubles(doubles);
+        assertTrue(set.containsAll(Arrays.asList(1d, 2d, 3d, 4d)));
+    }
+
+    @Test
+    public void should_create_map_of_ints_to_square_of_int() {
+        List<Integer> integers = Arrays.asList(1, 2, 3);
+        Map<Integer, Integer> mapFromIntegerToItsSquare = neophyteProblems.createMapFromIntegerToItsSquare(integers.stream());
+        assertThat(mapFromIntegerToItsSquare.get(1), is(1));
+        assertThat(mapFromIntegerToItsSquare.get(2), is(4));
+        assertThat(mapFromIntegerToItsSquare.get(3), is(9));
+    }
+
+    @Test
+    public void should_create_primitive_map_of_ints_to_square_of_int() {
+        Map<Integer, Integer> mapFromIntegerToItsSquare = neophyteProblems.createIntMapFromIntegerToItsSquare(IntStream.of(1, 2, 3)).asMap();
+        assertThat(mapFromIntegerToItsSquare.get(1), is(1));
+        assertThat(mapFromIntegerToItsSquare.get(2), is(4));
+        assertThat(mapFromIntegerToItsSquare.get(3), is(9));
+    }
+
+    @Test
+    public void should_generate_intstream_of_size_ten() {
+        List<Integer> collected = neophyteProblems.createAnIntStreamOfLengh10().boxed().collect(toList());
+        assertTrue(collected.stream().allMatch(i -> i == 1));
+        assertThat(collected.size(), is(10));
+    }
+
+    @Test
+    public void should_generate_splittable_intstream_of_size_ten() {
+        IntStream stream = neophyteProblems.createASplittableIntStreamOfLength10();
+        assertThat(stream.spliterator().getExactSizeIfKnown(), is(10L));
+        List<Integer> collected = neophyteProblems.createASplittableIntStreamOfLength10().parallel().boxed().collect(toList());
+        assertThat(collected, is(Arrays.asList(1, 1, 1, 1, 1, 1, 1, 1, 1, 1)));
+    }
+
+    @Test
+    public void should_create_map_of_thousand_ints_to_its_successor_int() {
+        Map<Integer, Integer> infiniteMap = neophyteProblems.createMapOfNaturalNumbersToItsSuccessor();
+        assertThat(infiniteMap.get(999), is(1000));
+    }
+
+    @Test
+    public void should_create_primitive_map_of_thousand_ints_to_its_successor_int() {
+        IntIntMap map = neophyteProblems.createIntMapOfNaturalNumbersToItsSuccessor();
+        assertThat(map.size(), is(1000));
+        assertThat(map.get(999, 0), is(1000));
+    }
+
+    @Test
+    public void should_create_lazy_map_of_thousand_ints_to_its_successor_int() {
+        Map<Integer, Integer> map = neophyteProblems.createLazyMapOfNaturalNumbersToItsSuccessor();
+        assertThat(map.size(), is(1000));
+        assertThat(map.get(999), is(1000));
+        assertThat(map.get(1001), is((Integer) null));
+    }
+
+    @Test
+    public void should_sum_list_of_ints_by_reduction() {
+        Integer sum = neophyteProblems.sumListByReduction(IntStream.range(0, 10).boxed());
+        assertThat(sum, is(45));
+    }
+
+    @Test
+    public void should_sum_list_of_ints_by_reduction_into_a_long() {
+        long sum = neophyteProblems.sumListByReductionToLong(IntStream.range(0, 10).map(i -> Integer.MAX_VALUE));
+        assertThat(sum, is(10L * Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void should_compute_concatenated_string_for_key_1_in_a_map() {
+        Map<Integer, String> map = new HashMap<>();
+        map.put(1, "asdf");
+        map.put(2, "fdsa");
+        String newString = neophyteProblems.doubleStringThatkeyOnePointsTo(map);
+        assertThat(newString, is("asdfasdf"));
+        assertThat(map.get(1), is("asdfasdf"));
+        assertThat(map.get(2), is("fdsa"));
+    }
+
+    @Test
+    public void should_map_an_iterable_to_its_corresponding_result_of_supplied_function() {
+        List<Integer> input = Arrays.asList(1, 2, 3);
+        Function<Integer, Integer> function = i -> i * 2;
+        Iterator<Integer> output = neophyteProblems.map(input, function).iterator();
+        int i = 0;
+        while (output.hasNext()) {
+            assertThat(output.next(), is(function.apply(input.get(i++))));
+        }
+    }
+
+
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package no.finntech.workshop;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.DoubleStream;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapDoubleSetTest {
+
+    @Test
+    public void should_collect_doubles_off_heap() {
+        try (OffHeapDoubleSet set = new NeophyteProblems().collectDoublesOffHeap(DoubleStream.of(1d, 2d, 3d, 1d, 4d, 0d, 0d).parallel())) {
+            assertThat(set.size(), is(5L));
+            assertTrue(set.contains(4d));
+            assertTrue(set.contains(0d));
+            assertFalse(set.contains(5d));
+        }
+    }
+
+    @Test
+    public void should_compare_like_double_equals() {
+        try (OffHeapDoubleSet set = new OffHeapDoubleSet()) {
+            assertTrue(set.add(Double.NaN));
+            assertFalse(set.add(Double.NaN));
+            assertTrue(set.add(0d));
+            assertTrue(set.add(-0d));
+            assertTrue(set.contains(Double.NaN));
+            assertThat(set.size(), is(3L));
+
+            Set<Double> values = new HashSet<>();
+            set.forEach(values::add);
+            assertThat(values.size(), is(3));
+            assertTrue(values.contains(-0d));
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package no.finntech.workshop;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class OffHeapIntIntMapTest {
+
+    @Test
+    public void should_behave_like_a_hash_map() {
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        try (OffHeapIntIntMap map = new OffHeapIntIntMap()) {
+            for (int i = 0; i < 100000; i++) {
+                int key = random.nextInt(50000) - 25000;
+                int value = random.nextInt();
+                expected.put(key, value);
+                map.put(key, value);
+            }
+            assertThat(map.size(), is((long) expected.size()));
+            Map<Integer, Integer> actual = new HashMap<>();
+            map.forEach(actual::put);
+            assertThat(actual, is(expected));
+            assertThat(map.get(0, 7), is(expected.getOrDefault(0, 7)));
+            assertFalse(map.containsKey(25000));
+        }
+    }
+
+    @Test
+    public void should_collect_squares_in_parallel() {
+        try (OffHeapIntIntMap squares = new NeophyteProblems().createOffHeapMapFromIntegerToItsSquare(IntStream.rangeClosed(1, 100000).parallel())) {
+            assertThat(squares.size(), is(100000L));
+            assertThat(squares.get(300, -1), is(90000));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void should_refuse_to_be_used_after_close() {
+        OffHeapIntIntMap map = new OffHeapIntIntMap();
+        map.put(1, 1);
+        map.close();
+        map.get(1, 0);
+    }
+
+}
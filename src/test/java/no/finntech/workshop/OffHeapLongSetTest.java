@@ -0,0 +1,32 @@
+package no.finntech.workshop;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class OffHeapLongSetTest {
+
+    @Test
+    public void should_behave_like_a_hash_set() {
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        try (OffHeapLongSet set = new OffHeapLongSet()) {
+            for (int i = 0; i < 100000; i++) {
+                long value = random.nextInt(50000) - 25000L;
+                assertThat(set.add(value), is(expected.add(value)));
+            }
+            assertThat(set.size(), is((long) expected.size()));
+            Set<Long> actual = new HashSet<>();
+            set.forEach(actual::add);
+            assertThat(actual, is(expected));
+            assertFalse(set.contains(25000L));
+        }
+    }
+
+}
@@ -1,9 +1,17 @@
+package no.finntech.workshop;
+
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
@@ -13,15 +21,19 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -53,6 +65,12 @@ public final class OptionalProblemsTest {
         assertFalse(optional.isPresent());
     }
 
+    @Test
+    public void create_an_optional_int_of_nullable_value() {
+        assertFalse(optionalProblems.createOptionalIntOfNullable(null).isPresent());
+        assertEquals(OptionalInt.of(42), optionalProblems.createOptionalIntOfNullable(42));
+    }
+
     @Test
     public void create_an_optional_of_non_nullable_value() {
         // given
@@ -194,6 +212,23 @@ public final class OptionalProblemsTest {
         verify(someService, times(nrOfInvocations)).tryMakeAnInteger(anyString());
     }
 
+    @Parameters({"true,42,1", "false,,0"})
+    @Test
+    public void try_make_an_int_out_of_an_optional_string(final boolean present, final String value, final int nrOfInvocations) {
+        // given
+        final Optional<String> optional = present ? Optional.of(value) : Optional.<String>empty();
+
+        // when
+        when(someService.tryMakeAnInt(anyString())).thenAnswer(invocation -> OptionalInt.of(Integer.parseInt((String) invocation.getArguments()[0])));
+        final OptionalInt optionalValue = optionalProblems.tryMakeAnIntOutOfAnOptionalString(optional);
+
+        // then
+        final OptionalInt expected = present ? OptionalInt.of(Integer.parseInt(value)) : OptionalInt.empty();
+        assertEquals(expected, optionalValue);
+        verify(someService, times(nrOfInvocations)).tryMakeAnInt(anyString());
+        verify(someService, never()).tryMakeAnInteger(anyString());
+    }
+
     @Parameters({"false,value,true", "false,,false", "false,   ,false", "true,,false"})
     @Test
     public void keep_non_empty_nullable_string(final boolean nullValue, final String value, final boolean expectPresentResult) {
@@ -231,6 +266,61 @@ public final class OptionalProblemsTest {
         assertThat(integers.get(1), is(10));
     }
 
+    @Test
+    public void stream_all_present_integers_from_list_of_optional_integers() {
+        final List<Optional<Integer>> list = Arrays.asList(Optional.of(1), Optional.empty(), Optional.of(10));
+        assertArrayEquals(new int[]{1, 10}, optionalProblems.streamAllIntegers(list).toArray());
+        assertArrayEquals(new int[]{1, 10}, optionalProblems.streamAllIntegers(new LinkedList<>(list)).toArray());
+    }
+
+    @Test
+    public void stream_all_present_integers_in_parallel_in_encounter_order() {
+        final List<Optional<Integer>> list = IntStream.range(0, 100000)
+                                                      .mapToObj(i -> i % 3 == 0 ? Optional.<Integer>empty() : Optional.of(i))
+                                                      .collect(Collectors.toList());
+        final int[] expected = IntStream.range(0, 100000).filter(i -> i % 3 != 0).toArray();
+        assertArrayEquals(expected, optionalProblems.streamAllIntegers(list).parallel().toArray());
+    }
+
+    @Test
+    public void retain_all_present_ints_from_list_of_optional_ints() {
+        final int[] ints = optionalProblems.retainAllInts(Arrays.asList(OptionalInt.of(1), OptionalInt.empty(), OptionalInt.of(10)));
+        assertArrayEquals(new int[]{1, 10}, ints);
+    }
+
+    @Test
+    public void create_an_optional_int_of_non_nullable_value() {
+        assertEquals(OptionalInt.of(42), optionalProblems.createOptionalIntOfNonNullable(42));
+    }
+
+    @Parameters({
+        "false, false, false, false, 0.0",
+        "true, false, false, false, 0.0",
+        "true, true, false, false, 0.0",
+        "true, true, true, false, 0.0",
+        "true, true, true, true, 250000.0",
+    })
+    @Test
+    public void getBalanceAsDouble(final boolean withCustomer, final boolean withAccountNumber, final boolean withAccount, final boolean withBalance, final double expected) {
+        // given
+        final String accountNumber = "NO255415684";
+        final OptionalProblems.Customer customer = withCustomer ? mock(OptionalProblems.Customer.class) : null;
+        if (withAccountNumber) {
+            when(customer.getAccountNumber()).thenReturn(accountNumber);
+        }
+        when(database.getCustomer(42)).thenReturn(customer);
+        final OptionalProblems.Account account = withAccount ? mock(OptionalProblems.Account.class) : null;
+        if (withBalance) {
+            when(account.getBalance()).thenReturn(250000.0);
+        }
+        when(accountService.getAccount(accountNumber)).thenReturn(account);
+
+        // when
+        final double actual = optionalProblems.getBalanceAsDouble(42);
+
+        // then
+        assertEquals(expected, actual, 0.0);
+    }
 
     @Parameters({
         "false, false, false, false, false, 0.0",
@@ -280,6 +370,59 @@ public final class OptionalProblemsTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void getBalances_with_one_batch_lookup_per_service() {
+        // given
+        final OptionalProblems.Customer customer = () -> "NO255415684";
+        final OptionalProblems.Account account = () -> 250000.0;
+        when(database.getCustomers(anyCollection())).thenReturn(Collections.singletonMap(42L, customer));
+        when(accountService.getAccounts(anyCollection())).thenReturn(Collections.singletonMap("NO255415684", account));
+
+        // when
+        final Map<Integer, Double> balances = optionalProblems.getBalances(Arrays.asList(42, 43, null));
+
+        // then
+        assertEquals(2, balances.size());
+        assertEquals(Double.valueOf(250000.0), balances.get(42));
+        assertEquals(Double.valueOf(0.0), balances.get(43));
+        verify(database, times(1)).getCustomers(anyCollection());
+        verify(database, never()).getCustomer(anyLong());
+        verify(accountService, times(1)).getAccounts(anyCollection());
+        verify(accountService, never()).getAccount(anyString());
+    }
+
+    @Test
+    public void getBalances_asks_each_customer_for_its_account_number_once() {
+        // given
+        final OptionalProblems.Customer customer = mock(OptionalProblems.Customer.class);
+        when(customer.getAccountNumber()).thenReturn("NO255415684");
+        final OptionalProblems.Account account = () -> 250000.0;
+        when(database.getCustomers(anyCollection())).thenReturn(Collections.singletonMap(42L, customer));
+        when(accountService.getAccounts(anyCollection())).thenReturn(Collections.singletonMap("NO255415684", account));
+
+        // when
+        final Map<Integer, Double> balances = optionalProblems.getBalances(Collections.singletonList(42));
+
+        // then
+        assertEquals(Double.valueOf(250000.0), balances.get(42));
+        verify(customer, times(1)).getAccountNumber();
+    }
+
+    @Test
+    public void getBalances_falls_back_to_single_lookups() {
+        // given
+        final OptionalProblems.Database singleGetDatabase = id -> id == 42 ? () -> "NO255415684" : null;
+        final OptionalProblems.AccountService singleGetAccountService = number -> () -> 250000.0;
+        final OptionalProblems problems = new OptionalProblems(someService, singleGetDatabase, singleGetAccountService);
+
+        // when
+        final Map<Integer, Double> balances = problems.getBalances(Arrays.asList(42, 43));
+
+        // then
+        assertEquals(Double.valueOf(250000.0), balances.get(42));
+        assertEquals(Double.valueOf(0.0), balances.get(43));
+    }
+
     @Parameters
     @Test
     public void getFirstCustomerAccountNumberStartingWithNO(final List<String> numbers, final String expected) {
@@ -295,6 +438,72 @@ public final class OptionalProblemsTest {
         assertEquals(expected, actual);
     }
 
+    @Parameters(method = "parametersForGetFirstCustomerAccountNumberStartingWithNO")
+    @Test
+    public void getFirstCustomerAccountNumberStartingWithNOInParallel(final List<String> numbers, final String expected) {
+        // given
+        final List<OptionalProblems.Customer> customers = numbers.stream()
+                                                                 .map(number -> (OptionalProblems.Customer) () -> number)
+                                                                 .collect(Collectors.toList());
+
+        // when
+        final String actual = optionalProblems.getFirstCustomerAccountNumberStartingWithNOInParallel(customers);
+
+        // then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void getFirstCustomerAccountNumberStartingWithNOInParallel_asks_each_customer_at_most_once() {
+        // given
+        final AtomicIntegerArray calls = new AtomicIntegerArray(1000000);
+        final List<OptionalProblems.Customer> customers = IntStream.range(0, 1000000)
+                                                                   .mapToObj(i -> (OptionalProblems.Customer) () -> {
+                                                                       calls.incrementAndGet(i);
+                                                                       return (i == 700000 || i == 900000 ? "NO" : "FR") + i;
+                                                                   })
+                                                                   .collect(Collectors.toList());
+
+        final ForkJoinPool pool = new ForkJoinPool(8);
+
+        // when
+        final String actual;
+        try {
+            actual = optionalProblems.getFirstCustomerAccountNumberStartingWithNOInParallel(customers, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // then
+        assertEquals("NO700000", actual);
+        for (int i = 0; i < calls.length(); i++) {
+            assertTrue(calls.get(i) <= 1);
+        }
+        assertEquals(1, calls.get(0));
+        assertEquals(1, calls.get(699999));
+    }
+
+    @Test
+    public void getFirstCustomerAccountNumberStartingWithNOInParallel_from_a_linked_list() {
+        // given
+        final List<OptionalProblems.Customer> customers = IntStream.range(0, 100000)
+                                                                   .mapToObj(i -> (OptionalProblems.Customer) () -> (i == 70000 ? "NO" : "FR") + i)
+                                                                   .collect(Collectors.toCollection(LinkedList::new));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        // when
+        final String actual;
+        try {
+            actual = optionalProblems.getFirstCustomerAccountNumberStartingWithNOInParallel(customers, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // then
+        assertEquals("NO70000", actual);
+    }
+
     public Object[][] parametersForGetFirstCustomerAccountNumberStartingWithNO() {
         return new Object[][]{{Collections.emptyList(), ""},
                 {Arrays.asList("FR123456", "NO123456", "NO098765"), "NO123456"},
@@ -0,0 +1,117 @@
+package no.finntech.workshop;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static java.util.stream.Collectors.toSet;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelFileWalkerTest {
+
+    private final Path root;
+
+    private final Set<Path> files = new HashSet<>();
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    public ParallelFileWalkerTest() throws IOException {
+        root = Files.createTempDirectory("walker");
+        for (int d = 0; d < 5; d++) {
+            Path directory = Files.createDirectories(root.resolve("dir" + d).resolve("sub"));
+            for (int f = 0; f < 20; f++) {
+                files.add(Files.createFile(directory.resolve("file" + f + ".txt")));
+                files.add(Files.createFile(directory.getParent().resolve("file" + f + ".txt")));
+            }
+        }
+        Files.createDirectories(root.resolve("skipped"));
+        Files.createFile(root.resolve("skipped").resolve("hidden.txt"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        pool.shutdownNow();
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void should_find_all_files_except_in_pruned_directories() {
+        ParallelFileWalker walker = new ParallelFileWalker(pool, 8);
+        Set<Path> found;
+        try (Stream<ParallelFileWalker.Entry> entries = walker.walk(root,
+                (path, attributes) -> !path.getFileName().toString().equals("skipped"),
+                (path, attributes) -> attributes.isRegularFile())) {
+            found = entries.map(ParallelFileWalker.Entry::path).collect(toSet());
+        }
+        assertThat(found, is(files));
+    }
+
+    @Test
+    public void should_stop_when_the_stream_is_closed_early() {
+        ParallelFileWalker walker = new ParallelFileWalker(pool, 2);
+        try (Stream<ParallelFileWalker.Entry> entries = walker.walk(root, (path, attributes) -> true, (path, attributes) -> true)) {
+            assertThat(entries.limit(3).count(), is(3L));
+        }
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void should_fail_when_the_root_does_not_exist() {
+        try (Stream<ParallelFileWalker.Entry> entries = new ParallelFileWalker().walk(root.resolve("missing"),
+                (path, attributes) -> true, (path, attributes) -> true)) {
+            entries.count();
+        }
+    }
+
+    @Test
+    public void should_skip_and_report_a_directory_that_cannot_be_read() throws IOException {
+        Path vanishing = Files.createDirectories(root.resolve("dir0").resolve("vanishing"));
+        Map<Path, IOException> unreadable = new ConcurrentHashMap<>();
+        ParallelFileWalker walker = new ParallelFileWalker(pool, 8);
+        Set<Path> found;
+        try (Stream<ParallelFileWalker.Entry> entries = walker.walk(root,
+                (path, attributes) -> {
+                    // gone by the time the walker opens it
+                    if (path.equals(vanishing)) {
+                        path.toFile().delete();
+                    }
+                    return !path.getFileName().toString().equals("skipped");
+                },
+                (path, attributes) -> attributes.isRegularFile(),
+                unreadable::put)) {
+            found = entries.map(ParallelFileWalker.Entry::path).collect(toSet());
+        }
+        assertThat(found, is(files));
+        assertThat(unreadable.keySet(), is(Collections.singleton(vanishing)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void should_give_up_on_a_stream_nobody_reads_or_closes() {
+        ParallelFileWalker walker = new ParallelFileWalker(pool, 1, 100, TimeUnit.MILLISECONDS);
+        Iterator<ParallelFileWalker.Entry> entries = walker.walk(root, (path, attributes) -> true, (path, attributes) -> true).iterator();
+        entries.next();
+
+        assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+        while (entries.hasNext()) {
+            entries.next();
+        }
+    }
+
+}
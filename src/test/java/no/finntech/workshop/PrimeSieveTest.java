@@ -0,0 +1,29 @@
+package no.finntech.workshop;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class PrimeSieveTest {
+
+    @Test
+    public void should_sieve_up_to_an_even_number_in_advance() {
+        PrimeSieve sieve = new PrimeSieve();
+
+        sieve.ensureSieved(3_000_000);
+
+        assertTrue(sieve.limit() > 3_000_000);
+    }
+
+    @Test
+    public void should_tell_primes_from_composites() {
+        PrimeSieve sieve = new PrimeSieve();
+        assertThat(sieve.isPrime(2), is(true));
+        assertThat(sieve.isPrime(1), is(false));
+        assertThat(sieve.isPrime(2_999_999), is(true));
+        assertThat(sieve.isPrime(2_999_997), is(false));
+    }
+
+}
@@ -0,0 +1,77 @@
+package no.finntech.workshop;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class SumReductionTest {
+
+    @Test
+    public void should_sum_ints_past_int_max_value() {
+        long sum = SumReduction.sum(IntStream.range(0, 100_000).map(i -> Integer.MAX_VALUE).parallel());
+        assertThat(sum, is(100_000L * Integer.MAX_VALUE));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void should_throw_on_overflow_in_exact_mode() {
+        SumReduction.sumExact(LongStream.of(Long.MAX_VALUE, 5L, -1L));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void should_throw_on_underflow_in_exact_mode() {
+        SumReduction.sumExact(LongStream.of(Long.MIN_VALUE, -1L));
+    }
+
+    @Test
+    public void should_sum_exactly_when_only_a_partial_sum_overflows() {
+        assertThat(SumReduction.sumExact(LongStream.of(Long.MAX_VALUE, 1L, -5L)), is(Long.MAX_VALUE - 4));
+    }
+
+    @Test
+    public void should_sum_exactly_in_parallel_when_partial_sums_overflow() {
+        LongStream longs = LongStream.range(0, 100_000).map(i -> i < 50_000 ? Long.MAX_VALUE : -Long.MAX_VALUE).parallel();
+        assertThat(SumReduction.sumExact(longs), is(0L));
+    }
+
+    @Test
+    public void should_sum_exactly_in_parallel_when_it_fits() {
+        assertThat(SumReduction.sumExact(LongStream.rangeClosed(1, 1_000_000).parallel()), is(500_000_500_000L));
+    }
+
+    @Test
+    public void should_keep_small_values_a_big_value_cancels_out() {
+        double sum = SumReduction.sumCompensated(DoubleStream.of(1.0, 1e100, 1.0, -1e100));
+        assertThat(sum, is(2.0));
+    }
+
+    @Test
+    public void should_sum_the_same_whatever_the_parallelism() {
+        Random random = new Random(42);
+        double[] values = random.doubles(1_000_000, -1e6, 1e6).toArray();
+
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool seven = new ForkJoinPool(7);
+        try {
+            double single = SumReduction.sumCompensated(values, one);
+            double many = SumReduction.sumCompensated(values, seven);
+
+            assertThat(Double.doubleToLongBits(many), is(Double.doubleToLongBits(single)));
+        } finally {
+            one.shutdown();
+            seven.shutdown();
+        }
+    }
+
+    @Test
+    public void should_not_turn_infinity_into_nan() {
+        assertThat(SumReduction.sumCompensated(DoubleStream.of(1.0, Double.POSITIVE_INFINITY)), is(Double.POSITIVE_INFINITY));
+    }
+
+}